@@ -0,0 +1,67 @@
+package draylar.goml.benchmark;
+
+import draylar.goml.api.Claim;
+import draylar.goml.api.ClaimBox;
+import draylar.goml.cca.WorldClaimComponent;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building claim indexes of a world when its claims are loaded, with {@link WorldClaimComponent#rebuild} compared
+ * to adding claims one by one. Claims are laid out like {@link ClaimWorldState.Layout#SPARSE}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ClaimLoadBenchmark {
+    @Param({"10000", "60000"})
+    public int claimCount;
+
+    private List<Claim> claims;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        var random = new Random(31337);
+        var side = (int) Math.ceil(Math.sqrt(this.claimCount));
+        this.claims = new ArrayList<>(this.claimCount);
+
+        for (int i = 0; i < this.claimCount; i++) {
+            var origin = new BlockPos((i % side) * 64, 40 + random.nextInt(40), (i / side) * 64);
+            var radius = 10 + random.nextInt(20);
+            var claim = new Claim(null, Set.of(new UUID(random.nextLong(), random.nextLong())), Set.of(), origin);
+            claim.internal_setClaimBox(new ClaimBox(origin, radius, radius));
+            this.claims.add(claim);
+        }
+    }
+
+    @Benchmark
+    public WorldClaimComponent rebuild() {
+        var component = WorldClaimComponent.createDetached();
+        component.rebuild(this.claims);
+        return component;
+    }
+
+    @Benchmark
+    public WorldClaimComponent addEach() {
+        var component = WorldClaimComponent.createDetached();
+        for (var claim : this.claims) {
+            component.add(claim);
+        }
+        return component;
+    }
+}
@@ -0,0 +1,67 @@
+package draylar.goml.benchmark;
+
+import draylar.goml.api.Claim;
+import draylar.goml.api.ClaimBox;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Claim#hasPermission(UUID)} for owners, trusted players and strangers, with different numbers of trusted players.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ClaimPermissionBenchmark {
+    @Param({"1", "16", "256"})
+    public int trustedCount;
+
+    private Claim claim;
+    private UUID owner;
+    private UUID trusted;
+    private UUID stranger;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        var random = new Random(31337);
+        this.owner = new UUID(random.nextLong(), random.nextLong());
+        this.stranger = new UUID(random.nextLong(), random.nextLong());
+
+        var trusted = new HashSet<UUID>();
+        for (int i = 0; i < this.trustedCount; i++) {
+            this.trusted = new UUID(random.nextLong(), random.nextLong());
+            trusted.add(this.trusted);
+        }
+
+        this.claim = new Claim(null, Set.of(this.owner), trusted, BlockPos.ORIGIN);
+        this.claim.internal_setClaimBox(new ClaimBox(BlockPos.ORIGIN, 10, 10));
+    }
+
+    @Benchmark
+    public boolean owner() {
+        return this.claim.hasPermission(this.owner);
+    }
+
+    @Benchmark
+    public boolean trusted() {
+        return this.claim.hasPermission(this.trusted);
+    }
+
+    @Benchmark
+    public boolean stranger() {
+        return this.claim.hasPermission(this.stranger);
+    }
+}
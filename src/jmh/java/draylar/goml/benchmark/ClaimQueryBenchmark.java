@@ -0,0 +1,92 @@
+package draylar.goml.benchmark;
+
+import draylar.goml.api.Claim;
+import draylar.goml.api.ClaimList;
+import draylar.goml.api.ClaimUtils;
+import draylar.goml.cca.ClaimComponent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Claim lookups done by {@code ClaimUtils} and protection checks built on top of them.
+ *
+ * <p>Protection checks are called through their variants taking the claim component, as there is no world to get it from.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ClaimQueryBenchmark {
+    private int index;
+
+    private int next() {
+        return this.index = (this.index + 1) & (ClaimWorldState.QUERY_COUNT - 1);
+    }
+
+    @Benchmark
+    public int getClaimsAt(ClaimWorldState state) {
+        var i = this.next();
+        try (var claims = ClaimList.acquire()) {
+            state.component.getClaimsAt(state.x[i], state.y[i], state.z[i], claims);
+            return claims.size();
+        }
+    }
+
+    /**
+     * Same lookup as {@link #getClaimsAt(ClaimWorldState)}, walking the claim tree instead (as done off server thread).
+     */
+    @Benchmark
+    public int getClaimsAtSnapshot(ClaimWorldState state) {
+        var i = this.next();
+        var claims = new ArrayList<Claim>();
+        state.snapshot.getClaimsAt(state.x[i], state.y[i], state.z[i], claims);
+        return claims.size();
+    }
+
+    @Benchmark
+    public boolean hasClaimAt(ClaimWorldState state) {
+        var i = this.next();
+        return state.component.hasClaimAt(state.x[i], state.y[i], state.z[i]);
+    }
+
+    @Benchmark
+    public long getClaimsInBox(ClaimWorldState state) {
+        var checkBox = state.boxes[this.next()];
+        return state.snapshot.claims().entries(box -> box.intersectsClosed(checkBox)).count();
+    }
+
+    /**
+     * {@link ClaimUtils#canModify(ClaimComponent, int, int, int, java.util.function.Predicate)}, for a player without permission anywhere.
+     */
+    @Benchmark
+    public boolean canModify(ClaimWorldState state) {
+        var i = this.next();
+        return ClaimUtils.canModify(state.component, state.x[i], state.y[i], state.z[i], state.strangerCanModify);
+    }
+
+    /**
+     * {@link ClaimUtils#canExplosionDestroy(ClaimComponent, int, int, int, java.util.function.Predicate, boolean)}
+     * for an explosion caused by a player. Every claim checks permission of causing player, so this uses one owning some of claims.
+     */
+    @Benchmark
+    public boolean canExplosionDestroy(ClaimWorldState state) {
+        var i = this.next();
+        return ClaimUtils.canExplosionDestroy(state.component, state.x[i], state.y[i], state.z[i], state.ownerCanModify, false);
+    }
+
+    /**
+     * Fluid check used by {@code ClaimUtils.canFluidFlow}, for fluid flowing one block along X axis.
+     * It goes through the claimed section check and {@code FluidFlowCache} first, like it does on server thread.
+     */
+    @Benchmark
+    public boolean canFluidFlow(ClaimWorldState state) {
+        var i = this.next();
+        return state.component.canFluidFlow(state.x[i], state.y[i], state.z[i], state.x[i] + 1, state.y[i], state.z[i]);
+    }
+}
@@ -0,0 +1,132 @@
+package draylar.goml.benchmark;
+
+import com.jamieswhiteshirt.rtree3i.Box;
+import draylar.goml.api.Claim;
+import draylar.goml.api.ClaimBox;
+import draylar.goml.cca.ClaimSnapshot;
+import draylar.goml.cca.WorldClaimComponent;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Synthetic world of claims, held by a {@link WorldClaimComponent} which isn't attached to a server or world.
+ *
+ * <p>Claims are laid out on a grid, either spaced so they never overlap or packed so most of them do.
+ * Every claim is owned and trusted by players from a small pool, so permission checks see realistic misses.
+ */
+@State(Scope.Benchmark)
+public class ClaimWorldState {
+    /**
+     * Number of precomputed query positions, must be a power of two.
+     */
+    public static final int QUERY_COUNT = 1024;
+    private static final int PLAYER_COUNT = 256;
+
+    @Param({"1000", "10000", "100000"})
+    public int claimCount;
+
+    @Param({"SPARSE", "OVERLAPPING"})
+    public Layout layout;
+
+    @Param({"false", "true"})
+    public boolean fullHeight;
+
+    public UUID[] players;
+    public UUID stranger;
+    /**
+     * Permission checks of a player, standing in for {@code ClaimUtils.canModifyClaimAt}, which needs a player entity.
+     */
+    public Predicate<Claim> strangerCanModify;
+    public Predicate<Claim> ownerCanModify;
+    public WorldClaimComponent component;
+    public ClaimSnapshot snapshot;
+
+    public int[] x;
+    public int[] y;
+    public int[] z;
+    public Box[] boxes;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // ClaimUtils reads block registry once it's loaded
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+
+        var random = new Random(31337);
+
+        this.players = new UUID[PLAYER_COUNT];
+        for (int i = 0; i < PLAYER_COUNT; i++) {
+            this.players[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+        this.stranger = new UUID(random.nextLong(), random.nextLong());
+        this.strangerCanModify = claim -> claim.hasPermission(this.stranger);
+        this.ownerCanModify = claim -> claim.hasPermission(this.players[0]);
+
+        var side = (int) Math.ceil(Math.sqrt(this.claimCount));
+        var spacing = this.layout.spacing;
+        var claims = new ArrayList<Claim>(this.claimCount);
+
+        for (int i = 0; i < this.claimCount; i++) {
+            var origin = new BlockPos(
+                    (i % side) * spacing + random.nextInt(this.layout.jitter + 1),
+                    40 + random.nextInt(40),
+                    (i / side) * spacing + random.nextInt(this.layout.jitter + 1)
+            );
+            var radius = 10 + random.nextInt(this.layout.radiusRange);
+
+            var claim = new Claim(null, Set.of(this.players[i % PLAYER_COUNT]), Set.of(this.players[(i + 1) % PLAYER_COUNT]), origin);
+            claim.internal_setClaimBox(new ClaimBox(origin, radius, this.fullHeight ? 512 : radius));
+            claims.add(claim);
+        }
+
+        this.component = WorldClaimComponent.createDetached();
+        this.component.rebuild(claims);
+        this.snapshot = this.component.getSnapshot();
+
+        var extent = side * spacing;
+        this.x = new int[QUERY_COUNT];
+        this.y = new int[QUERY_COUNT];
+        this.z = new int[QUERY_COUNT];
+        this.boxes = new Box[QUERY_COUNT];
+
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            this.x[i] = random.nextInt(extent);
+            this.y[i] = -64 + random.nextInt(384);
+            this.z[i] = random.nextInt(extent);
+            this.boxes[i] = Box.create(this.x[i], this.y[i], this.z[i], this.x[i] + 32, this.y[i] + 32, this.z[i] + 32);
+        }
+    }
+
+    public enum Layout {
+        /**
+         * Claims are at most 59 blocks wide, so a 64 block grid keeps them apart.
+         */
+        SPARSE(64, 0, 20),
+        /**
+         * Wider claims on a tighter grid, with origins moved around, so most positions are in more than one claim.
+         */
+        OVERLAPPING(32, 16, 30);
+
+        final int spacing;
+        final int jitter;
+        final int radiusRange;
+
+        Layout(int spacing, int jitter, int radiusRange) {
+            this.spacing = spacing;
+            this.jitter = jitter;
+            this.radiusRange = radiusRange;
+        }
+    }
+}
@@ -4,12 +4,12 @@ import com.jamieswhiteshirt.rtree3i.Entry;
 import com.jamieswhiteshirt.rtree3i.Selection;
 import draylar.goml.api.Claim;
 import draylar.goml.api.ClaimBox;
+import draylar.goml.api.ClaimList;
 import draylar.goml.api.ClaimUtils;
 import draylar.goml.api.PermissionReason;
-import draylar.goml.api.event.ClaimEvents;
+import draylar.goml.api.ProtectionEngine;
 import draylar.goml.block.entity.ClaimAnchorBlockEntity;
-import draylar.goml.registry.GOMLBlocks;
-import draylar.goml.registry.GOMLTags;
+import draylar.goml.other.ProtectionMetrics;
 import net.fabricmc.fabric.api.event.Event;
 import net.fabricmc.fabric.api.event.player.*;
 import net.minecraft.entity.Tameable;
@@ -23,7 +23,6 @@ import net.minecraft.util.Hand;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.registry.Registry;
-import org.apache.commons.lang3.mutable.MutableObject;
 import org.jetbrains.annotations.ApiStatus;
 
 import static draylar.goml.GetOffMyLawn.id;
@@ -60,12 +59,7 @@ public class EventHandlers {
                 return ActionResult.PASS;
             }
 
-            if (ClaimUtils.isInAdminMode(playerEntity)) {
-                return ActionResult.PASS;
-            }
-
-            if (GetOffMyLawn.CONFIG.canInteract(entity)
-                    || entity.getType().isIn(GOMLTags.ALLOWED_INTERACTIONS_ENTITY)) {
+            if (ProtectionEngine.isInteractionAllowed(entity)) {
                 return ActionResult.PASS;
             }
 
@@ -73,41 +67,10 @@ public class EventHandlers {
                 return ActionResult.PASS;
             }
 
-            if (entity instanceof PlayerEntity attackedPlayer) {
-                var claims = ClaimUtils.getClaimsAt(world, entity.getBlockPos());
-
-                if (claims.isEmpty()) {
-                    return ActionResult.PASS;
-                } else {
-                    claims = claims.filter((e) -> e.getValue().hasAugment(GOMLBlocks.PVP_ARENA.getFirst()));
-
-                    if (claims.isEmpty()) {
-                        return GetOffMyLawn.CONFIG.enablePvPinClaims ? ActionResult.PASS : ActionResult.FAIL;
-                    } else {
-                        var obj = new MutableObject<ActionResult>(ActionResult.PASS);
-                        claims.forEach((e) -> {
-                            if (obj.getValue() instanceof ActionResult.Fail) {
-                                return;
-                            }
-                            var claim = e.getValue();
-
-                            obj.setValue(switch (claim.getData(GOMLBlocks.PVP_ARENA.getFirst().key)) {
-                                case EVERYONE -> ActionResult.PASS;
-                                case DISABLED -> ActionResult.FAIL;
-                                case TRUSTED -> claim.hasPermission(playerEntity) && claim.hasPermission(attackedPlayer)
-                                        ? ActionResult.PASS : ActionResult.FAIL;
-                                case UNTRUSTED -> !claim.hasPermission(playerEntity) && !claim.hasPermission(attackedPlayer)
-                                        ? ActionResult.PASS : ActionResult.FAIL;
-                            });
-                        });
-
-                        return obj.getValue();
-                    }
-                }
+            var timer = ProtectionMetrics.start(ProtectionMetrics.Site.INTERACT_ENTITY);
+            try (var context = ProtectionEngine.begin(world, playerEntity, hand)) {
+                return ProtectionMetrics.endAction(ProtectionMetrics.Site.INTERACT_ENTITY, timer, context.testEntity(entity, PermissionReason.ENTITY_PROTECTED));
             }
-
-            Selection<Entry<ClaimBox, Claim>> claimsFound = ClaimUtils.getClaimsAt(world, entity.getBlockPos());
-            return testPermission(claimsFound, playerEntity, hand, entity.getBlockPos(), PermissionReason.ENTITY_PROTECTED);
         });
     }
 
@@ -116,7 +79,9 @@ public class EventHandlers {
             if (world.isClient()) {
                 return ActionResult.PASS;
             }
-            return ClaimUtils.canDamageEntity(world, entity, world.getDamageSources().playerAttack(playerEntity)) ? ActionResult.PASS : ActionResult.FAIL;
+            var timer = ProtectionMetrics.start(ProtectionMetrics.Site.ATTACK_ENTITY);
+            var allowed = ClaimUtils.canDamageEntity(world, entity, world.getDamageSources().playerAttack(playerEntity));
+            return ProtectionMetrics.end(ProtectionMetrics.Site.ATTACK_ENTITY, timer, allowed) ? ActionResult.PASS : ActionResult.FAIL;
         });
     }
 
@@ -126,23 +91,25 @@ public class EventHandlers {
                 return ActionResult.PASS;
             }
             if (!(playerEntity.getStackInHand(hand).getItem() instanceof BlockItem)) {
-                var blockState = world.getBlockState(blockHitResult.getBlockPos());
-
-                if (GetOffMyLawn.CONFIG.canInteract(blockState.getBlock()) || blockState.isIn(GOMLTags.ALLOWED_INTERACTIONS_BLOCKS)) {
+                if (ProtectionEngine.isInteractionAllowed(world.getBlockState(blockHitResult.getBlockPos()))) {
                     return ActionResult.PASS;
                 }
             }
 
-            var claimsFound = ClaimUtils.getClaimsAt(world, blockHitResult.getBlockPos());
+            var pos = blockHitResult.getBlockPos();
+            var timer = ProtectionMetrics.start(ProtectionMetrics.Site.INTERACT_BLOCK);
+            ActionResult ac;
 
-            var ac = testPermission(claimsFound, playerEntity, hand, blockHitResult.getBlockPos(), PermissionReason.AREA_PROTECTED);
+            // Both checks share the context, so claims covering both positions are only checked once
+            try (var context = ProtectionEngine.begin(world, playerEntity, hand)) {
+                ac = context.test(pos, PermissionReason.AREA_PROTECTED);
 
-            if (ac == ActionResult.PASS) {
-                var claimsFound2 = ClaimUtils.getClaimsAt(world, blockHitResult.getBlockPos().offset(blockHitResult.getSide()));
-                return testPermission(claimsFound2, playerEntity, hand, blockHitResult.getBlockPos().offset(blockHitResult.getSide()), PermissionReason.AREA_PROTECTED);
+                if (ac == ActionResult.PASS) {
+                    ac = context.test(pos.offset(blockHitResult.getSide()), PermissionReason.AREA_PROTECTED);
+                }
             }
 
-            return ac;
+            return ProtectionMetrics.endAction(ProtectionMetrics.Site.INTERACT_BLOCK, timer, ac);
         });
     }
 
@@ -151,17 +118,21 @@ public class EventHandlers {
             if (world.isClient()) {
                 return ActionResult.PASS;
             }
-            Selection<Entry<ClaimBox, Claim>> claimsFound = ClaimUtils.getClaimsAt(world, blockPos);
-            return testPermission(claimsFound, playerEntity, hand, blockPos, PermissionReason.BLOCK_PROTECTED);
+            var timer = ProtectionMetrics.start(ProtectionMetrics.Site.ATTACK_BLOCK);
+            try (var context = ProtectionEngine.begin(world, playerEntity, hand)) {
+                return ProtectionMetrics.endAction(ProtectionMetrics.Site.ATTACK_BLOCK, timer, context.test(blockPos, PermissionReason.BLOCK_PROTECTED));
+            }
         });
 
         PlayerBlockBreakEvents.BEFORE.register(GOML_PHASE, (world, player, pos, state, blockEntity) -> {
             if (world.isClient()) {
                 return true;
             }
-            Selection<Entry<ClaimBox, Claim>> claimsFound = ClaimUtils.getClaimsAt(world, pos);
-            ActionResult result = testPermission(claimsFound, player, Hand.MAIN_HAND, pos, PermissionReason.BLOCK_PROTECTED);
-            return !result.equals(ActionResult.FAIL);
+            var timer = ProtectionMetrics.start(ProtectionMetrics.Site.BREAK_BLOCK);
+            try (var context = ProtectionEngine.begin(world, player, Hand.MAIN_HAND)) {
+                ActionResult result = context.test(pos, PermissionReason.BLOCK_PROTECTED);
+                return ProtectionMetrics.end(ProtectionMetrics.Site.BREAK_BLOCK, timer, !result.equals(ActionResult.FAIL));
+            }
         });
     }
 
@@ -183,24 +154,17 @@ public class EventHandlers {
     }
 
     @ApiStatus.Internal
-    public static ActionResult testPermission(Selection<Entry<ClaimBox, Claim>> claims, PlayerEntity player, Hand hand, BlockPos pos, PermissionReason reason) {
-        if (player.getEntityWorld().isClient()) {
-            return ActionResult.PASS;
+    public static ActionResult testPermission(ClaimList claims, PlayerEntity player, Hand hand, BlockPos pos, PermissionReason reason) {
+        try (var context = ProtectionEngine.begin(player.getEntityWorld(), player, hand)) {
+            return context.test(claims, pos, reason);
         }
+    }
 
-        if (!claims.isEmpty()) {
-            boolean noPermission = claims.anyMatch((Entry<ClaimBox, Claim> boxInfo) -> !boxInfo.getValue().hasPermission(player));
-
-            if (noPermission && !ClaimUtils.isInAdminMode(player)) {
-                ActionResult check = ClaimEvents.PERMISSION_DENIED.invoker().check(player, player.getEntityWorld(), hand, pos, reason);
-
-                if (check.isAccepted() || check.equals(ActionResult.PASS)) {
-                    player.sendMessage(reason.getReason(), true);
-                    return ActionResult.FAIL;
-                }
-            }
+    @ApiStatus.Internal
+    public static ActionResult testPermission(Selection<Entry<ClaimBox, Claim>> claims, PlayerEntity player, Hand hand, BlockPos pos, PermissionReason reason) {
+        try (var list = ClaimList.acquire()) {
+            claims.forEach(entry -> list.add(entry.getValue()));
+            return testPermission(list, player, hand, pos, reason);
         }
-
-        return ActionResult.PASS;
     }
 }
@@ -4,7 +4,6 @@ import org.ladysnake.cca.api.v3.component.ComponentKey;
 import org.ladysnake.cca.api.v3.component.ComponentRegistryV3;
 import org.ladysnake.cca.api.v3.world.WorldComponentFactoryRegistry;
 import org.ladysnake.cca.api.v3.world.WorldComponentInitializer;
-import draylar.goml.api.Claim;
 import draylar.goml.api.GomlProtectionProvider;
 import draylar.goml.cca.ClaimComponent;
 import draylar.goml.cca.WorldClaimComponent;
@@ -14,6 +13,7 @@ import draylar.goml.other.CardboardWarning;
 import draylar.goml.other.ClaimCommand;
 import draylar.goml.config.GOMLConfig;
 import draylar.goml.other.PlaceholdersReg;
+import draylar.goml.other.ProtectionMetrics;
 import draylar.goml.other.VanillaTeamGroups;
 import draylar.goml.registry.GOMLBlocks;
 import draylar.goml.registry.GOMLEntities;
@@ -27,17 +27,17 @@ import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.item.ItemGroup;
 import net.minecraft.item.ItemStack;
-import net.minecraft.server.world.ServerWorld;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
-import net.minecraft.util.math.ChunkSectionPos;
-import net.minecraft.world.chunk.WorldChunk;
+import net.minecraft.util.Util;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.function.Consumer;
+import java.util.concurrent.CompletableFuture;
 
 public class GetOffMyLawn implements ModInitializer, WorldComponentInitializer {
     public static final String MOD_ID = "goml";
@@ -77,15 +77,26 @@ public class GetOffMyLawn implements ModInitializer, WorldComponentInitializer {
         ServerLifecycleEvents.SERVER_STARTING.register((s) -> {
             CardboardWarning.checkAndAnnounce();
             GetOffMyLawn.CONFIG = GOMLConfig.loadOrCreateConfig();
+            ProtectionMetrics.setEnabled(GetOffMyLawn.CONFIG.enableProtectionMetrics);
         });
 
-        ServerTickEvents.END_WORLD_TICK.register((world) -> CLAIM.get(world).getClaims().values().forEach(x -> x.tick(world)));
+        ServerTickEvents.END_WORLD_TICK.register((world) -> {
+            var component = CLAIM.get(world);
+            component.tickAugments();
+            component.tickPlayers();
+        });
         ServerTickEvents.START_SERVER_TICK.register(server -> {
             for (var task : NEXT_TICK_TASK) {
                 task.run();
             }
             NEXT_TICK_TASK.clear();
         });
+        ServerTickEvents.END_SERVER_TICK.register(server -> {
+            if (ProtectionMetrics.isEnabled() && !CONFIG.protectionMetricsFile.isEmpty()
+                    && server.getTicks() % (Math.max(CONFIG.protectionMetricsDumpInterval, 1) * 20) == 0) {
+                dumpProtectionMetrics(server);
+            }
+        });
         ServerLifecycleEvents.SERVER_STOPPED.register(x -> NEXT_TICK_TASK.clear());
 
         VanillaTeamGroups.init();
@@ -95,8 +106,8 @@ public class GetOffMyLawn implements ModInitializer, WorldComponentInitializer {
 
         ServerLifecycleEvents.SERVER_STARTED.register(WebmapCompat::init);
 
-        ServerChunkEvents.CHUNK_LOAD.register((world, server) -> GetOffMyLawn.onChunkEvent(world, server, Claim::internal_incrementChunks));
-        ServerChunkEvents.CHUNK_UNLOAD.register((world, server) -> GetOffMyLawn.onChunkEvent(world, server, Claim::internal_decrementChunks));
+        ServerChunkEvents.CHUNK_LOAD.register((world, chunk) -> CLAIM.get(world).onChunkLoad(chunk.getPos()));
+        ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> CLAIM.get(world).onChunkUnload(chunk.getPos()));
     }
 
     @Override
@@ -104,15 +115,16 @@ public class GetOffMyLawn implements ModInitializer, WorldComponentInitializer {
         registry.register(CLAIM, WorldClaimComponent::new);
     }
 
-    private static void onChunkEvent(ServerWorld world, WorldChunk chunk, Consumer<Claim> chunkHandler) {
-        CLAIM.get(world).getClaims().entries().filter(x -> {
-            var minX = ChunkSectionPos.getSectionCoord(x.getKey().toBox().x1());
-            var minZ = ChunkSectionPos.getSectionCoord(x.getKey().toBox().z1());
-
-            var maxX = ChunkSectionPos.getSectionCoord(x.getKey().toBox().x2());
-            var maxZ = ChunkSectionPos.getSectionCoord(x.getKey().toBox().z2());
-
-            return (minX <= chunk.getPos().x && maxX >= chunk.getPos().x && minZ <= chunk.getPos().z && maxZ >= chunk.getPos().z);
-        }).forEach(x -> chunkHandler.accept(x.getValue()));
+    public static CompletableFuture<Boolean> dumpProtectionMetrics(MinecraftServer server) {
+        var path = server.getRunDirectory().resolve(CONFIG.protectionMetricsFile);
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                ProtectionMetrics.writePrometheus(path);
+                return true;
+            } catch (IOException e) {
+                LOGGER.warn("Couldn't write protection metrics to {}", path, e);
+                return false;
+            }
+        }, Util.getIoWorkerExecutor());
     }
 }
@@ -1,5 +1,6 @@
 package draylar.goml.api;
 
+import it.unimi.dsi.fastutil.HashCommon;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.text.Text;
@@ -41,6 +42,21 @@ public interface Augment {
         return false;
     }
 
+    /**
+     * Number of ticks between calls of {@link #tick(Claim, World)} and {@link #playerTick(Claim, PlayerEntity)}, for augments that tick.
+     */
+    default int getTickInterval() {
+        return 1;
+    }
+
+    /**
+     * Tick within the interval this augment runs at. By default it's picked from position of the augment,
+     * so the same augment in different claims doesn't run on the same tick.
+     */
+    default int getTickPhase(BlockPos pos) {
+        return HashCommon.mix(pos.hashCode());
+    }
+
     default boolean canPlace(Claim claim, World world, BlockPos pos) {
         return true;
     }
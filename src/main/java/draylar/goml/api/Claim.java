@@ -7,6 +7,11 @@ import draylar.goml.api.group.PlayerGroup;
 import draylar.goml.api.group.PlayerGroupProvider;
 import draylar.goml.block.ClaimAnchorBlock;
 import draylar.goml.block.entity.ClaimAnchorBlockEntity;
+import draylar.goml.cca.AugmentTickScheduler;
+import draylar.goml.cca.ClaimComponent;
+import draylar.goml.cca.ClaimMemberIndex;
+import draylar.goml.cca.ClaimPresenceTracker;
+import draylar.goml.other.GomlObjects;
 import draylar.goml.other.LegacyNbtHelper;
 import draylar.goml.registry.GOMLAugments;
 import draylar.goml.registry.GOMLBlocks;
@@ -17,6 +22,7 @@ import draylar.goml.ui.ClaimPlayerListGui;
 import draylar.goml.ui.PagedGui;
 import eu.pb4.sgui.api.elements.GuiElementBuilder;
 import eu.pb4.sgui.api.gui.SimpleGui;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.Items;
@@ -35,12 +41,14 @@ import net.minecraft.util.Identifier;
 import net.minecraft.util.Uuids;
 import net.minecraft.util.dynamic.Codecs;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.registry.RegistryKey;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * Represents a claim on land with an origin {@link BlockPos}, owners, and other allowed players.
@@ -57,6 +65,10 @@ public class Claim {
     public static final String CUSTOM_DATA_KEY = "CustomData";
     private static final String BOX_KEY = "Box";
 
+    /**
+     * Maximum number of players whose group permission is remembered by a single claim.
+     */
+    private static final int GROUP_PERMISSION_CACHE_SIZE = 256;
     private static final Codec<Map<Identifier, NbtElement>> CUSTOM_DATA_CODEC = Codec.unboundedMap(Identifier.CODEC, Codecs.NBT_ELEMENT);
 
     private final Set<UUID> owners = new HashSet<>();
@@ -67,7 +79,11 @@ public class Claim {
     private final MinecraftServer server;
     private final Set<PlayerGroup.Key> trustedGroupKeys = new HashSet<>();
     private final BlockPos origin;
-    private ClaimAnchorBlock type = GOMLBlocks.MAKESHIFT_CLAIM_ANCHOR.getFirst();
+    /**
+     * Null means default (makeshift) anchor. It's resolved lazily, so claims can be created without touching block registry.
+     */
+    @Nullable
+    private ClaimAnchorBlock type;
     private Identifier world;
     @Nullable
     private ItemStack icon;
@@ -77,9 +93,26 @@ public class Claim {
     private int chunksLoadedCount;
     private final Map<BlockPos, Augment> augments = new HashMap<>();
 
-    private final List<PlayerEntity> previousTickPlayers = new ArrayList<>();
+    /**
+     * Players currently in this claim, as seen by {@link ClaimPresenceTracker}.
+     */
+    private final Set<PlayerEntity> previousTickPlayers = new ReferenceOpenHashSet<>();
+    @Nullable
+    private AugmentTickScheduler tickScheduler;
     private boolean destroyed = false;
     private boolean updatable = false;
+    @Nullable
+    private ClaimMemberIndex memberIndex;
+    /**
+     * Called on every change of saved data, so the world only needs to save claims that changed.
+     */
+    @Nullable
+    private Consumer<Claim> dirtyListener;
+    /**
+     * Results of group permission checks, valid as long as group membership version stays the same.
+     */
+    private final Map<UUID, Boolean> groupPermissionCache = new ConcurrentHashMap<>();
+    private volatile long groupPermissionCacheVersion = -1;
 
     @ApiStatus.Internal
     public Claim(MinecraftServer server, Set<UUID> owners, Set<UUID> trusted, BlockPos origin) {
@@ -102,7 +135,22 @@ public class Claim {
     }
 
     public void addOwner(UUID id) {
-        this.owners.add(id);
+        if (this.owners.add(id) && this.memberIndex != null) {
+            this.memberIndex.addOwner(this, id);
+        }
+        markPermissionsChanged();
+        onUpdated();
+    }
+
+    public void removeOwner(PlayerEntity player) {
+        removeOwner(player.getUuid());
+    }
+
+    public void removeOwner(UUID id) {
+        if (this.owners.remove(id) && this.memberIndex != null) {
+            this.memberIndex.removeOwner(this, id);
+        }
+        markPermissionsChanged();
         onUpdated();
     }
 
@@ -111,12 +159,43 @@ public class Claim {
     }
 
     public boolean hasPermission(UUID uuid) {
+        if (hasDirectPermission(uuid)) {
+            return true;
+        }
+
+        if (!this.hasTrustedGroups()) {
+            return false;
+        }
+
+        var version = PlayerGroupProvider.getMembershipVersion();
+        if (this.groupPermissionCacheVersion != version) {
+            this.groupPermissionCache.clear();
+            this.groupPermissionCacheVersion = version;
+        }
+
+        var cached = this.groupPermissionCache.get(uuid);
+        if (cached != null) {
+            return cached;
+        }
+
+        var cacheable = true;
+        var allowed = false;
         for (var group : this.getGroups()) {
+            cacheable &= group.provider().tracksMembershipChanges();
             if (group.isPartOf(uuid)) {
-                return true;
+                allowed = true;
+                break;
             }
         }
-        return hasDirectPermission(uuid);
+
+        if (cacheable) {
+            // Starting over once full keeps the cache bounded while players currently around the claim get cached again
+            if (this.groupPermissionCache.size() >= GROUP_PERMISSION_CACHE_SIZE) {
+                this.groupPermissionCache.clear();
+            }
+            this.groupPermissionCache.put(uuid, allowed);
+        }
+        return allowed;
     }
 
     public boolean hasDirectPermission(UUID uuid) {
@@ -128,13 +207,21 @@ public class Claim {
     }
 
     public void trust(UUID uuid) {
-        trusted.add(uuid);
+        if (trusted.add(uuid) && this.memberIndex != null) {
+            this.memberIndex.addTrusted(this, uuid);
+        }
+        markPermissionsChanged();
         onUpdated();
     }
 
     public void trust(PlayerGroup group) {
         getGroups().add(group);
+        this.groupPermissionCache.clear();
+        markPermissionsChanged();
         group.addClaim(this);
+        if (this.memberIndex != null) {
+            this.memberIndex.updateGroups(this);
+        }
     }
 
     public void untrust(PlayerEntity player) {
@@ -143,11 +230,19 @@ public class Claim {
 
     public void untrust(PlayerGroup group) {
         getGroups().remove(group);
+        this.groupPermissionCache.clear();
+        markPermissionsChanged();
         group.removeClaim(this);
+        if (this.memberIndex != null) {
+            this.memberIndex.updateGroups(this);
+        }
     }
 
     public void untrust(UUID uuid) {
-        trusted.remove(uuid);
+        if (trusted.remove(uuid) && this.memberIndex != null) {
+            this.memberIndex.removeTrusted(this, uuid);
+        }
+        markPermissionsChanged();
         onUpdated();
     }
 
@@ -159,11 +254,18 @@ public class Claim {
      * @return  claim owner's UUIDs
      */
     public Set<UUID> getOwners() {
-        return owners;
+        return Collections.unmodifiableSet(owners);
     }
 
+    /**
+     * Returns the {@link UUID}s of players trusted in the claim.
+     *
+     * <p>Use {@link #trust(UUID)} and {@link #untrust(UUID)} to modify them.
+     *
+     * @return  trusted players' UUIDs
+     */
     public Set<UUID> getTrusted() {
-        return trusted;
+        return Collections.unmodifiableSet(trusted);
     }
 
     /**
@@ -219,7 +321,7 @@ public class Claim {
         if (this.icon != null) {
             view.put(ICON_KEY, ItemStack.OPTIONAL_CODEC, this.icon);
         }
-        view.putString(TYPE_KEY, Registries.BLOCK.getId(this.type).toString());
+        view.putString(TYPE_KEY, Registries.BLOCK.getId(this.getType()).toString());
 
         var customData = new HashMap<Identifier, NbtElement>();
 
@@ -245,6 +347,14 @@ public class Claim {
         this.claimBox.writeData(view.get(BOX_KEY));
     }
 
+    /**
+     * Reads just the box of a claim written by {@link #writeData(WriteView)}, without decoding the rest of it.
+     */
+    @ApiStatus.Internal
+    public static ClaimBox readClaimBox(ReadView view) {
+        return ClaimBox.readData(view.getReadView(BOX_KEY), 0);
+    }
+
     @ApiStatus.Internal
     public static Claim readData(MinecraftServer server, ReadView view, int version) {
         // Collect UUID of owners
@@ -350,6 +460,7 @@ public class Claim {
         } else {
             this.customData.remove(key);
         }
+        markDirty();
     }
 
     public <T> void removeData(DataKey<T> key) {
@@ -386,7 +497,7 @@ public class Claim {
                 })
         );
 
-        if (this.type == GOMLBlocks.ADMIN_CLAIM_ANCHOR.getFirst()) {
+        if (this.getType() == GOMLBlocks.ADMIN_CLAIM_ANCHOR.getFirst()) {
             gui.addSlot(new GuiElementBuilder(Items.PLAYER_HEAD)
                     .setName(Text.translatable("text.goml.gui.admin_settings").formatted(Formatting.WHITE))
                     .setSkullOwner("eyJ0ZXh0dXJlcyI6eyJTS0lOIjp7InVybCI6Imh0dHA6Ly90ZXh0dXJlcy5taW5lY3JhZnQubmV0L3RleHR1cmUvYmY3YTQyMmRiMzVkMjhjZmI2N2U2YzE2MTVjZGFjNGQ3MzAwNzI0NzE4Nzc0MGJhODY1Mzg5OWE0NGI3YjUyMCJ9fX0=")
@@ -405,7 +516,7 @@ public class Claim {
     }
 
     public ClaimAnchorBlock getType() {
-        return this.type;
+        return this.type != null ? this.type : GOMLBlocks.MAKESHIFT_CLAIM_ANCHOR.getFirst();
     }
 
     @ApiStatus.Internal
@@ -430,6 +541,31 @@ public class Claim {
         onUpdated();
     }
 
+    @ApiStatus.Internal
+    public void internal_setTickScheduler(@Nullable AugmentTickScheduler tickScheduler) {
+        this.tickScheduler = tickScheduler;
+    }
+
+    @ApiStatus.Internal
+    public void internal_setDirtyListener(@Nullable Consumer<Claim> dirtyListener) {
+        this.dirtyListener = dirtyListener;
+    }
+
+    @ApiStatus.Internal
+    public boolean internal_isChunkLoaded() {
+        return this.chunksLoadedCount > 0;
+    }
+
+    @ApiStatus.Internal
+    public Collection<PlayerEntity> internal_getPlayers() {
+        return this.previousTickPlayers;
+    }
+
+    @ApiStatus.Internal
+    public void internal_setMemberIndex(@Nullable ClaimMemberIndex memberIndex) {
+        this.memberIndex = memberIndex;
+    }
+
     @ApiStatus.Internal
     public void internal_setWorld(Identifier world) {
         this.world = world;
@@ -442,7 +578,9 @@ public class Claim {
 
     @ApiStatus.Internal
     public void internal_incrementChunks() {
-        this.chunksLoadedCount++;
+        if (this.chunksLoadedCount++ == 0 && this.tickScheduler != null) {
+            this.tickScheduler.scheduleAll(this);
+        }
     }
 
     @ApiStatus.Internal
@@ -450,27 +588,35 @@ public class Claim {
         this.chunksLoadedCount--;
         if (this.chunksLoadedCount == 0) {
             this.clearTickedPlayers();
+            if (this.tickScheduler != null) {
+                this.tickScheduler.unscheduleAll(this);
+            }
         }
     }
 
     @ApiStatus.Internal
     public void internal_updateChunkCount(ServerWorld world) {
-        var minX = ChunkSectionPos.getSectionCoord(this.claimBox.toBox().x1());
-        var minZ = ChunkSectionPos.getSectionCoord(this.claimBox.toBox().z1());
+        this.internal_updateChunkCount(world, null);
+    }
 
-        var maxX = ChunkSectionPos.getSectionCoord(this.claimBox.toBox().x2());
-        var maxZ = ChunkSectionPos.getSectionCoord(this.claimBox.toBox().z2());
+    /**
+     * Recounts loaded chunks covered by this claim, skipping the chunk that is being loaded right now (as it will be counted by its load event).
+     * Only chunks in the claim's box are counted, same as {@link ClaimComponent#onChunkLoad(ChunkPos)} does.
+     */
+    @ApiStatus.Internal
+    public void internal_updateChunkCount(ServerWorld world, @Nullable ChunkPos loading) {
+        var box = this.claimBox.toBox();
+        var wasLoaded = this.chunksLoadedCount > 0;
 
-        for (var x = minX; x <= maxX; x++) {
-            for (var z = minZ; z <= maxZ; z++) {
-                if (world.isChunkLoaded(x, z)) {
-                    this.chunksLoadedCount++;
-                }
-            }
-        }
+        this.chunksLoadedCount = GetOffMyLawn.CLAIM.get(world).countLoadedChunks(box.x1() >> 4, box.z1() >> 4, (box.x2() - 1) >> 4, (box.z2() - 1) >> 4, loading);
 
         if (this.chunksLoadedCount == 0) {
             this.clearTickedPlayers();
+            if (wasLoaded && this.tickScheduler != null) {
+                this.tickScheduler.unscheduleAll(this);
+            }
+        } else if (!wasLoaded && this.tickScheduler != null) {
+            this.tickScheduler.scheduleAll(this);
         }
     }
 
@@ -484,11 +630,15 @@ public class Claim {
                     }
                 }
             }
+            this.previousTickPlayers.clear();
         }
     }
 
     public void addAugment(BlockPos pos, Augment augment) {
         this.augments.put(pos, augment);
+        if (this.tickScheduler != null) {
+            this.tickScheduler.schedule(this, pos, augment);
+        }
         for (var player : this.previousTickPlayers) {
             augment.onPlayerEnter(this, player);
         }
@@ -496,6 +646,9 @@ public class Claim {
     }
 
     public void removeAugment(BlockPos pos) {
+        if (this.tickScheduler != null) {
+            this.tickScheduler.unschedule(this, pos);
+        }
         var augment = this.augments.remove(pos);
         if (augment != null) {
             for (var player : this.previousTickPlayers) {
@@ -545,43 +698,59 @@ public class Claim {
         return world.getPlayers(x -> x.getBoundingBox().intersects(box));
     }
 
+    /**
+     * Ticks all enabled ticking augments of this claim right away.
+     *
+     * @deprecated augments are ticked by their world at their own {@link Augment#getTickInterval() interval}, so calling this
+     * ticks them more often than they expect
+     */
+    @Deprecated
     public void tick(ServerWorld world) {
         if (this.chunksLoadedCount > 0) {
-            var box = this.claimBox.minecraftBox();
-            var playersInClaim = world.getPlayers(x -> x.getBoundingBox().intersects(box));
-
-            // Tick all augments
             for (var augment : this.augments.values()) {
+                if (augment != null && augment.ticks() && augment.isEnabled(this, world)) {
+                    augment.tick(this, world);
+                }
+            }
+        }
+    }
 
-                if (augment != null && augment.isEnabled(this, world)) {
-                    if (augment.ticks()) {
-                        augment.tick(this, world);
-                        for (var playerEntity : playersInClaim) {
-                            augment.playerTick(this, playerEntity);
-                        }
-                    }
-
-                    // Enter/Exit behavior
-                    for (var playerEntity : playersInClaim) {
-                        // this player was NOT in the claim last tick, call entry method
-                        if (!this.previousTickPlayers.contains(playerEntity)) {
-                            augment.onPlayerEnter(this, playerEntity);
-                        }
-                    }
+    /**
+     * Marks player as inside of this claim, notifying augments if player just entered it.
+     */
+    @ApiStatus.Internal
+    public void internal_onPlayerInside(ServerWorld world, PlayerEntity player) {
+        if (this.chunksLoadedCount <= 0 || !this.previousTickPlayers.add(player)) {
+            return;
+        }
 
-                    // Tick exit behavior
-                    for (var player : this.previousTickPlayers) {
-                        if (!playersInClaim.contains(player)) {
-                            augment.onPlayerExit(this, player);
-                        }
-                    }
-                }
+        for (var augment : this.augments.values()) {
+            if (augment != null && augment.isEnabled(this, world)) {
+                augment.onPlayerEnter(this, player);
             }
+        }
+    }
 
-            // Reset players in claim
-            this.previousTickPlayers.clear();
-            this.previousTickPlayers.addAll(playersInClaim);
+    /**
+     * Marks player as no longer inside of this claim, notifying augments if player was in it.
+     *
+     * @param world world of this claim, which player might have already left
+     */
+    @ApiStatus.Internal
+    public void internal_onPlayerExit(ServerWorld world, PlayerEntity player) {
+        if (!this.previousTickPlayers.remove(player)) {
+            return;
         }
+
+        for (var augment : this.augments.values()) {
+            if (augment != null && augment.isEnabled(this, world)) {
+                augment.onPlayerExit(this, player);
+            }
+        }
+    }
+
+    public boolean hasTrustedGroups() {
+        return !this.trustedGroupKeys.isEmpty() || (this.trustedGroups != null && !this.trustedGroups.isEmpty());
     }
 
     public Collection<PlayerGroup> getGroups() {
@@ -629,7 +798,26 @@ public class Claim {
         return false;
     }
 
+    /**
+     * Returns a number incremented every time owners or trusted players or groups of any claim change.
+     */
+    @ApiStatus.Internal
+    public static long getPermissionVersion() {
+        return GomlObjects.CLAIM_PERMISSION_VERSION.get();
+    }
+
+    private static void markPermissionsChanged() {
+        GomlObjects.CLAIM_PERMISSION_VERSION.incrementAndGet();
+    }
+
+    private void markDirty() {
+        if (this.dirtyListener != null) {
+            this.dirtyListener.accept(this);
+        }
+    }
+
     private void onUpdated() {
+        markDirty();
         if (this.updatable && !this.destroyed) {
             ClaimEvents.CLAIM_UPDATED.invoker().onEvent(this);
         }
@@ -0,0 +1,132 @@
+package draylar.goml.api;
+
+import net.minecraft.entity.player.PlayerEntity;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+import java.util.UUID;
+
+/**
+ * Reusable list of claims, filled by primitive position queries in {@link ClaimUtils}.
+ *
+ * <p>Instances are pooled per thread, so they must be closed once you are done with them
+ * (preferably with try-with-resources) and never stored, as they will be handed out to a later query.
+ */
+public final class ClaimList extends AbstractList<Claim> implements RandomAccess, AutoCloseable {
+    private static final ThreadLocal<ArrayList<ClaimList>> POOL = ThreadLocal.withInitial(ArrayList::new);
+
+    private Claim[] claims = new Claim[4];
+    private int size;
+    private boolean pooled;
+
+    private ClaimList() {}
+
+    /**
+     * Takes an empty list from current thread's pool. It's returned to it by {@link #close()}.
+     */
+    public static ClaimList acquire() {
+        var pool = POOL.get();
+        var list = pool.isEmpty() ? new ClaimList() : pool.removeLast();
+        list.pooled = false;
+        return list;
+    }
+
+    @Override
+    public Claim get(int index) {
+        if (index >= this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return this.claims[index];
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean add(Claim claim) {
+        if (this.size == this.claims.length) {
+            this.claims = Arrays.copyOf(this.claims, this.size * 2);
+        }
+        this.claims[this.size++] = claim;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(this.claims, 0, this.size, null);
+        this.size = 0;
+    }
+
+    public boolean isNotEmpty() {
+        return this.size != 0;
+    }
+
+    /**
+     * @return true if any of claims in this list doesn't give the player permission
+     */
+    public boolean anyWithoutPermission(PlayerEntity player) {
+        return anyWithoutPermission(player.getUuid());
+    }
+
+    /**
+     * @return true if any of claims in this list doesn't give the player permission
+     */
+    public boolean anyWithoutPermission(UUID uuid) {
+        for (int i = 0; i < this.size; i++) {
+            if (!this.claims[i].hasPermission(uuid)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if any of claims in this list gives the player permission
+     */
+    public boolean anyWithPermission(UUID uuid) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.claims[i].hasPermission(uuid)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if any of claims in this list gives permission to any of given players
+     */
+    public boolean anyWithPermission(Collection<UUID> uuids) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.claims[i].hasPermission(uuids)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if any of claims in this list has given augment
+     */
+    public boolean anyHasAugment(Augment augment) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.claims[i].hasAugment(augment)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void close() {
+        if (!this.pooled) {
+            this.clear();
+            this.pooled = true;
+            POOL.get().add(this);
+        }
+    }
+}
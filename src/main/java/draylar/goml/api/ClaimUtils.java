@@ -3,11 +3,12 @@ package draylar.goml.api;
 import com.jamieswhiteshirt.rtree3i.Box;
 import com.jamieswhiteshirt.rtree3i.Entry;
 import com.jamieswhiteshirt.rtree3i.Selection;
-import draylar.goml.EventHandlers;
 import draylar.goml.GetOffMyLawn;
 import draylar.goml.api.event.ClaimEvents;
 import draylar.goml.block.augment.ExplosionControllerAugmentBlock;
 import draylar.goml.block.entity.ClaimAnchorBlockEntity;
+import draylar.goml.cca.ClaimComponent;
+import draylar.goml.other.ClaimVerdictHolder;
 import draylar.goml.other.GomlPlayer;
 import draylar.goml.other.OriginOwner;
 import draylar.goml.other.StatusEnum;
@@ -36,13 +37,16 @@ import net.minecraft.util.Pair;
 import net.minecraft.util.math.*;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldView;
-import org.apache.commons.lang3.mutable.MutableBoolean;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public class ClaimUtils {
+    private static final Claim[] NO_CLAIMS = new Claim[0];
 
     /**
      * Returns all claims at the given position in the given world.
@@ -53,7 +57,81 @@ public class ClaimUtils {
      */
     public static Selection<Entry<ClaimBox, Claim>> getClaimsAt(WorldView world, BlockPos pos) {
         Box checkBox = Box.create(pos.getX(), pos.getY(), pos.getZ(), pos.getX() + 1, pos.getY() + 1, pos.getZ() + 1);
-        return GetOffMyLawn.CLAIM.get(world).getClaims().entries(box -> box.contains(checkBox));
+        var component = GetOffMyLawn.CLAIM.get(world);
+        component.loadRegionsIn(checkBox);
+        return component.getClaims().entries(box -> box.contains(checkBox));
+    }
+
+    /**
+     * Returns whether there are any claims at the given position in the given world.
+     * <p>Unlike {@link #getClaimsAt(WorldView, BlockPos)}, this doesn't walk the claim tree.
+     *
+     * @param world world to check for claim in
+     * @param pos   position to check at
+     * @return true if given position is claimed
+     */
+    public static boolean isClaimedAt(WorldView world, BlockPos pos) {
+        return GetOffMyLawn.CLAIM.get(world).hasClaimAt(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    /**
+     * Returns whether any claim intersects the given chunk section in the given world.
+     *
+     * @param world world to check for claim in
+     * @param pos   chunk section to check
+     * @return true if any block in given section can be claimed
+     */
+    public static boolean isSectionClaimed(WorldView world, ChunkSectionPos pos) {
+        return GetOffMyLawn.CLAIM.get(world).isSectionClaimed(pos.getSectionX(), pos.getSectionY(), pos.getSectionZ());
+    }
+
+    /**
+     * Returns all claims at the given position in the given world.
+     * <p>Unlike {@link #getClaimsAt(WorldView, BlockPos)}, this doesn't walk the claim tree nor allocate.
+     * Returned list is reused by later queries, so it needs to be closed after use (best with try-with-resources).
+     *
+     * @param world world to check for claim in
+     * @param x     x coordinate of block to check at
+     * @param y     y coordinate of block to check at
+     * @param z     z coordinate of block to check at
+     * @return claims at the given position in the given world
+     */
+    public static ClaimList getClaimsAt(WorldView world, int x, int y, int z) {
+        var list = ClaimList.acquire();
+        GetOffMyLawn.CLAIM.get(world).getClaimsAt(x, y, z, list);
+        return list;
+    }
+
+    /**
+     * Returns whether any claim at the given position in the given world has the augment.
+     *
+     * @param world   world to check for claim in
+     * @param pos     position to check at
+     * @param augment augment to look for
+     * @return true if any claim at the given position has the augment
+     */
+    public static boolean hasAugmentAt(WorldView world, BlockPos pos, Augment augment) {
+        try (var claims = getClaimsAt(world, pos.getX(), pos.getY(), pos.getZ())) {
+            return claims.anyHasAugment(augment);
+        }
+    }
+
+    /**
+     * Returns all claims the player is currently in.
+     * <p>For server players, this is cached until they move to another block or claims of their world change.
+     *
+     * @param player player to check
+     * @return claims at player's position
+     */
+    public static List<Claim> getCurrentClaims(PlayerEntity player) {
+        if (player instanceof GomlPlayer gomlPlayer) {
+            return gomlPlayer.goml_getCurrentClaims();
+        }
+
+        var pos = player.getBlockPos();
+        try (var claims = getClaimsAt(player.getEntityWorld(), pos.getX(), pos.getY(), pos.getZ())) {
+            return List.copyOf(claims);
+        }
     }
 
     /**
@@ -64,7 +142,19 @@ public class ClaimUtils {
      * @return claims at the given position in the given world
      */
     public static Selection<Entry<ClaimBox, Claim>> getClaimsWithOrigin(WorldView world, BlockPos pos) {
-        return GetOffMyLawn.CLAIM.get(world).getClaims().entries().filter(x -> x.getValue().getOrigin().equals(pos));
+        return getClaimsAt(world, pos).filter(x -> x.getValue().getOrigin().equals(pos));
+    }
+
+    /**
+     * Returns the claim with the given origin in the given world.
+     *
+     * @param world world to check for claim in
+     * @param pos   origin position of the claim
+     * @return claim with the given origin, or null if there isn't any
+     */
+    @Nullable
+    public static Claim getClaimWithOrigin(WorldView world, BlockPos pos) {
+        return GetOffMyLawn.CLAIM.get(world).getClaimWithOrigin(pos);
     }
 
     /**
@@ -77,7 +167,7 @@ public class ClaimUtils {
      * @return claims at the given position in the given world
      */
     public static Selection<Entry<ClaimBox, Claim>> getClaimsOwnedBy(WorldView world, UUID player) {
-        return GetOffMyLawn.CLAIM.get(world).getClaims().entries().filter(entry -> entry.getValue().isOwner(player));
+        return GetOffMyLawn.CLAIM.get(world).getClaimsOwnedBy(player);
     }
 
     /**
@@ -90,7 +180,7 @@ public class ClaimUtils {
      * @return claims at the given position in the given world
      */
     public static Selection<Entry<ClaimBox, Claim>> getClaimsTrusted(WorldView world, UUID player) {
-        return GetOffMyLawn.CLAIM.get(world).getClaims().entries().filter(entry -> entry.getValue().getTrusted().contains(player));
+        return GetOffMyLawn.CLAIM.get(world).getClaimsTrusted(player);
     }
 
     /**
@@ -103,7 +193,7 @@ public class ClaimUtils {
      * @return claims at the given position in the given world
      */
     public static Selection<Entry<ClaimBox, Claim>> getClaimsWithAccess(WorldView world, UUID player) {
-        return GetOffMyLawn.CLAIM.get(world).getClaims().entries().filter(entry -> entry.getValue().hasPermission(player));
+        return GetOffMyLawn.CLAIM.get(world).getClaimsWithAccess(player);
     }
 
     /**
@@ -120,15 +210,24 @@ public class ClaimUtils {
     }
 
     public static Selection<Entry<ClaimBox, Claim>> getClaimsInBox(WorldView world, Box checkBox) {
-        return GetOffMyLawn.CLAIM.get(world).getClaims().entries(box -> box.intersectsClosed(checkBox));
+        var component = GetOffMyLawn.CLAIM.get(world);
+        component.loadRegionsIn(checkBox);
+        return component.getClaims().entries(box -> box.intersectsClosed(checkBox));
     }
 
     public static Selection<Entry<ClaimBox, Claim>> getClaimsInOpenBox(WorldView world, Box checkBox) {
-        return GetOffMyLawn.CLAIM.get(world).getClaims().entries(box -> box.intersectsOpen(checkBox));
+        var component = GetOffMyLawn.CLAIM.get(world);
+        component.loadRegionsIn(checkBox);
+        return component.getClaims().entries(box -> box.intersectsOpen(checkBox));
     }
 
+    /**
+     * Returns every claim in given world. This loads claims of all regions, so use it only when really needed.
+     */
     public static Selection<Entry<ClaimBox, Claim>> getClaimsInDimension(WorldView world) {
-        return GetOffMyLawn.CLAIM.get(world).getClaims().entries(a -> true);
+        var component = GetOffMyLawn.CLAIM.get(world);
+        component.loadAllRegions();
+        return component.getClaims().entries(a -> true);
     }
 
     public static Box createBox(int x1, int y1, int z1, int x2, int y2, int z2) {
@@ -151,11 +250,13 @@ public class ClaimUtils {
      */
     public static Selection<Entry<ClaimBox, Claim>> getClaimsInBox(WorldView world, BlockPos lower, BlockPos upper, Box ignore) {
         Box checkBox = Box.create(lower.getX(), lower.getY(), lower.getZ(), upper.getX(), upper.getY(), upper.getZ());
-        return GetOffMyLawn.CLAIM.get(world).getClaims().entries(box -> box.intersectsClosed(checkBox) && !box.equals(ignore));
+        return getClaimsInBox(world, checkBox, ignore);
     }
 
     public static Selection<Entry<ClaimBox, Claim>> getClaimsInBox(WorldView world, Box checkBox, Box ignore) {
-        return GetOffMyLawn.CLAIM.get(world).getClaims().entries(box -> box.intersectsClosed(checkBox) && !box.equals(ignore));
+        var component = GetOffMyLawn.CLAIM.get(world);
+        component.loadRegionsIn(checkBox);
+        return component.getClaims().entries(box -> box.intersectsClosed(checkBox) && !box.equals(ignore));
     }
 
     /**
@@ -171,51 +272,153 @@ public class ClaimUtils {
     }
 
     public static boolean canModifyClaimAt(World world, BlockPos pos, Entry<ClaimBox, Claim> claim, PlayerEntity player) {
-        return claim.getValue().hasPermission(player)
+        return canModifyClaimAt(world, pos, claim.getValue(), player);
+    }
+
+    public static boolean canModifyClaimAt(World world, BlockPos pos, Claim claim, PlayerEntity player) {
+        return claim.hasPermission(player)
                 || isInAdminMode(player)
                 || ClaimEvents.PERMISSION_DENIED.invoker().check(player, world, Hand.MAIN_HAND, pos, PermissionReason.AREA_PROTECTED) == ActionResult.SUCCESS;
     }
 
     public static boolean isInAdminMode(PlayerEntity player) {
-        return Permissions.check(player, "goml.modify_others", 3) && (player instanceof GomlPlayer adminModePlayer && adminModePlayer.goml_getAdminMode());
+        // Admin mode flag is a field read, so it's checked before asking permission providers
+        return player instanceof GomlPlayer adminModePlayer && adminModePlayer.goml_getAdminMode() && Permissions.check(player, "goml.modify_others", 3);
     }
 
     public static boolean canFireDestroy(World world, BlockPos pos) {
-        return ClaimUtils.getClaimsAt(world, pos).isEmpty();
+        return !ClaimUtils.isClaimedAt(world, pos);
     }
 
+    /**
+     * Checks if fluid can flow from cur to dest, which is the case if dest isn't claimed or shares a claim with cur.
+     */
     public static boolean canFluidFlow(World world, BlockPos cur, BlockPos dest) {
-        var claimsDest = ClaimUtils.getClaimsAt(world, dest);
-        var claimsCur = ClaimUtils.getClaimsAt(world, cur);
-        return claimsDest.isEmpty() || claimsCur.anyMatch(x -> claimsCur.anyMatch(y -> x.equals(y)));
+        return canFluidFlow(world, cur.getX(), cur.getY(), cur.getZ(), dest.getX(), dest.getY(), dest.getZ());
+    }
+
+    public static boolean canFluidFlow(World world, int curX, int curY, int curZ, int destX, int destY, int destZ) {
+        return GetOffMyLawn.CLAIM.get(world).canFluidFlow(curX, curY, curZ, destX, destY, destZ);
     }
 
     public static boolean canExplosionDestroy(World world, BlockPos pos, @Nullable Entity causingEntity) {
-        Selection<Entry<ClaimBox, Claim>> claimsFound = ClaimUtils.getClaimsAt(world, pos);
+        var player = getExplosionPlayer(causingEntity);
+        return canExplosionDestroy(GetOffMyLawn.CLAIM.get(world), pos.getX(), pos.getY(), pos.getZ(),
+                player != null ? claim -> canModifyClaimAt(world, pos, claim, player) : null, world.getServer() != null);
+    }
 
-        PlayerEntity player;
+    /**
+     * Checks done by {@link #canExplosionDestroy(World, BlockPos, Entity)}, taking claims from the component directly.
+     *
+     * @param canModifyClaim permission check of the player responsible for the explosion, if there is one
+     * @param checkAugments  whether claims can allow explosions through their augments
+     */
+    @ApiStatus.Internal
+    public static boolean canExplosionDestroy(ClaimComponent component, int x, int y, int z, @Nullable Predicate<Claim> canModifyClaim, boolean checkAugments) {
+        try (var claimsFound = ClaimList.acquire()) {
+            component.getClaimsAt(x, y, z, claimsFound);
+            if (claimsFound.isEmpty()) {
+                return true;
+            }
 
-        if (causingEntity instanceof PlayerEntity playerEntity) {
-            player = playerEntity;
-        } else if (!GetOffMyLawn.CONFIG.protectAgainstHostileExplosionsActivatedByTrustedPlayers && causingEntity instanceof MobEntity creeperEntity && creeperEntity.getTarget() instanceof PlayerEntity playerEntity) {
-            player = playerEntity;
-        } else {
-            player = null;
+            if (canModifyClaim != null) {
+                for (var claim : claimsFound) {
+                    if (!canModifyClaim.test(claim)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            if (checkAugments) {
+                for (var claim : claimsFound) {
+                    if (claim.hasAugment(GOMLBlocks.EXPLOSION_CONTROLLER.getFirst()) && claim.getData(ExplosionControllerAugmentBlock.KEY) == StatusEnum.Toggle.DISABLED) {
+                        return true;
+                    }
+                }
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Removes everything an explosion can't affect from the list, with the same rules as {@link #canExplosionDestroy(World, BlockPos, Entity)}.
+     * Claims are looked up once for the area of the whole explosion, so this is much cheaper than checking targets one by one.
+     *
+     * @param getPos position of a target
+     */
+    public static <T> void removeProtectedFromExplosion(World world, List<T> targets, Function<T, BlockPos> getPos, @Nullable Entity causingEntity) {
+        if (targets.isEmpty()) {
+            return;
         }
 
-        if (player != null && claimsFound.isNotEmpty()) {
-            return !claimsFound.anyMatch((Entry<ClaimBox, Claim> boxInfo) -> !canModifyClaimAt(world, pos, boxInfo, player));
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for (var target : targets) {
+            var pos = getPos.apply(target);
+            minX = Math.min(minX, pos.getX());
+            minY = Math.min(minY, pos.getY());
+            minZ = Math.min(minZ, pos.getZ());
+            maxX = Math.max(maxX, pos.getX());
+            maxY = Math.max(maxY, pos.getY());
+            maxZ = Math.max(maxZ, pos.getZ());
         }
 
-        return claimsFound.isEmpty() || claimsFound.anyMatch((c) -> {
-            if (world.getServer() != null) {
-                if (c.getValue().hasAugment(GOMLBlocks.EXPLOSION_CONTROLLER.getFirst())) {
-                    return c.getValue().getData(ExplosionControllerAugmentBlock.KEY) == StatusEnum.Toggle.DISABLED;
-                }
+        try (var claims = ClaimList.acquire()) {
+            getClaimsInBox(world, Box.create(minX, minY, minZ, maxX + 1, maxY + 1, maxZ + 1)).forEach(entry -> claims.add(entry.getValue()));
+            if (claims.isEmpty()) {
+                return;
             }
 
-            return false;
-        });
+            var player = getExplosionPlayer(causingEntity);
+            var adminMode = player != null && isInAdminMode(player);
+            // With a player, claims it can't modify protect their blocks (unless event allows it)
+            // Without one, claims with disabled explosion controller allow explosions
+            var allows = new boolean[claims.size()];
+            for (int i = 0; i < allows.length; i++) {
+                var claim = claims.get(i);
+                allows[i] = player != null
+                        ? adminMode || claim.hasPermission(player)
+                        : world.getServer() != null && claim.hasAugment(GOMLBlocks.EXPLOSION_CONTROLLER.getFirst()) && claim.getData(ExplosionControllerAugmentBlock.KEY) == StatusEnum.Toggle.DISABLED;
+            }
+
+            targets.removeIf(target -> {
+                var pos = getPos.apply(target);
+                var found = false;
+
+                for (int i = 0; i < allows.length; i++) {
+                    if (!contains(claims.get(i).getClaimBox().toBox(), pos)) {
+                        continue;
+                    }
+                    found = true;
+
+                    if (player != null) {
+                        if (!allows[i] && ClaimEvents.PERMISSION_DENIED.invoker().check(player, world, Hand.MAIN_HAND, pos, PermissionReason.AREA_PROTECTED) != ActionResult.SUCCESS) {
+                            return true;
+                        }
+                    } else if (allows[i]) {
+                        return false;
+                    }
+                }
+
+                return found && player == null;
+            });
+        }
+    }
+
+    private static boolean contains(Box box, BlockPos pos) {
+        return pos.getX() >= box.x1() && pos.getX() < box.x2() && pos.getY() >= box.y1() && pos.getY() < box.y2() && pos.getZ() >= box.z1() && pos.getZ() < box.z2();
+    }
+
+    @Nullable
+    private static PlayerEntity getExplosionPlayer(@Nullable Entity causingEntity) {
+        if (causingEntity instanceof PlayerEntity playerEntity) {
+            return playerEntity;
+        } else if (!GetOffMyLawn.CONFIG.protectAgainstHostileExplosionsActivatedByTrustedPlayers && causingEntity instanceof MobEntity creeperEntity && creeperEntity.getTarget() instanceof PlayerEntity playerEntity) {
+            return playerEntity;
+        }
+        return null;
     }
 
     public static boolean canDamageEntity(World world, Entity entity, DamageSource source) {
@@ -230,67 +433,103 @@ public class ClaimUtils {
             return true;
         }
 
-        PlayerEntity player;
+        var player = getAttackingPlayer(attacker);
 
-         if (attacker instanceof PlayerEntity playerEntity) {
-            player = playerEntity;
-        } else if (!GetOffMyLawn.CONFIG.protectAgainstHostileExplosionsActivatedByTrustedPlayers && attacker instanceof MobEntity creeperEntity && creeperEntity.getTarget() instanceof PlayerEntity playerEntity) {
-            player = playerEntity;
-        } else if (attacker instanceof ProjectileEntity projectileEntity && projectileEntity.getOwner() instanceof PlayerEntity playerEntity) {
-            player = playerEntity;
-        } else if (attacker instanceof AreaEffectCloudEntity areaEffectCloudEntity && areaEffectCloudEntity.getOwner() instanceof PlayerEntity playerEntity) {
-            player = playerEntity;
-        } else if (attacker instanceof TameableEntity tameableEntity && tameableEntity.getOwner() instanceof PlayerEntity playerEntity) {
-            player = playerEntity;
-        } else if (!(entity instanceof PlayerEntity) && !(GetOffMyLawn.CONFIG.relaxedEntitySourceProtectionCheck && source instanceof LivingEntity) && source != null && (attacker == null || source == attacker)) {
-            return hasMatchingClaims(world, entity.getBlockPos(), ((OriginOwner) source).goml$getOriginSafe());
-        } else {
-            return true;
+        if (player == null) {
+            return !isProtectedFromSource(entity, attacker, source) || hasMatchingClaims(world, entity.getBlockPos(), (OriginOwner) source);
         }
 
-        if (ClaimUtils.isInAdminMode(player) || entity == player) {
+        if (isAlwaysDamageable(entity, player)) {
             return true;
         }
 
-        if ((GetOffMyLawn.CONFIG.allowDamagingNamedHostileMobs
-                || (GetOffMyLawn.CONFIG.allowDamagingUnnamedHostileMobs && entity.getCustomName() == null))
-                && entity instanceof HostileEntity
-        ) {
-            return true;
+        try (var context = ProtectionEngine.begin(world, player, Hand.MAIN_HAND)) {
+            return context.testEntity(entity, PermissionReason.ENTITY_PROTECTED) != ActionResult.FAIL;
         }
-        var claims = ClaimUtils.getClaimsAt(world, entity.getBlockPos());
+    }
 
-        if (claims.isEmpty()) {
-            return true;
+    /**
+     * Removes entities that can't be damaged from the list, with the same rules as {@link #canDamageEntity(World, Entity, Entity, Entity)}.
+     * Attacker is classified once and claims are looked up once for the area of all entities, which makes it much cheaper than checking them one by one.
+     */
+    public static void removeProtectedFromDamage(World world, List<? extends Entity> entities, @Nullable Entity attacker, @Nullable Entity source) {
+        if (world.isClient() || entities.isEmpty()) {
+            return;
+        }
+
+        var player = getAttackingPlayer(attacker);
+
+        if (player == null) {
+            entities.removeIf(entity -> entity != attacker && isProtectedFromSource(entity, attacker, source)
+                    && !hasMatchingClaims(world, entity.getBlockPos(), (OriginOwner) source));
+            return;
         }
 
-        if (entity instanceof PlayerEntity attackedPlayer) {
-            claims = claims.filter((e) -> e.getValue().hasAugment(GOMLBlocks.PVP_ARENA.getFirst()));
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for (var entity : entities) {
+            var pos = entity.getBlockPos();
+            minX = Math.min(minX, pos.getX());
+            minY = Math.min(minY, pos.getY());
+            minZ = Math.min(minZ, pos.getZ());
+            maxX = Math.max(maxX, pos.getX());
+            maxY = Math.max(maxY, pos.getY());
+            maxZ = Math.max(maxZ, pos.getZ());
+        }
 
+        try (var claims = ClaimList.acquire(); var claimsAt = ClaimList.acquire(); var context = ProtectionEngine.begin(world, player, Hand.MAIN_HAND)) {
+            getClaimsInBox(world, Box.create(minX, minY, minZ, maxX + 1, maxY + 1, maxZ + 1)).forEach(entry -> claims.add(entry.getValue()));
             if (claims.isEmpty()) {
-                return GetOffMyLawn.CONFIG.enablePvPinClaims;
-            } else {
-                var obj = new MutableBoolean(true);
-                claims.forEach((e) -> {
-                    if (!obj.getValue()) {
-                        return;
-                    }
-                    var claim = e.getValue();
-
-                    obj.setValue(switch (claim.getData(GOMLBlocks.PVP_ARENA.getFirst().key)) {
-                        case EVERYONE -> true;
-                        case DISABLED -> false;
-                        case TRUSTED -> claim.hasPermission(player) && claim.hasPermission(attackedPlayer);
-                        case UNTRUSTED -> !claim.hasPermission(player) && !claim.hasPermission(attackedPlayer);
-                        case null -> false;
-                    });
-                });
-
-                return obj.getValue();
+                return;
             }
+
+            entities.removeIf(entity -> {
+                if (entity == attacker || isAlwaysDamageable(entity, player)) {
+                    return false;
+                }
+
+                var pos = entity.getBlockPos();
+                claimsAt.clear();
+                for (var claim : claims) {
+                    if (contains(claim.getClaimBox().toBox(), pos)) {
+                        claimsAt.add(claim);
+                    }
+                }
+                return context.testEntity(entity, pos, claimsAt, PermissionReason.ENTITY_PROTECTED) == ActionResult.FAIL;
+            });
         }
+    }
 
-        return EventHandlers.testPermission(claims, player, Hand.MAIN_HAND, entity.getBlockPos(), PermissionReason.ENTITY_PROTECTED) != ActionResult.FAIL;
+    /**
+     * Returns player responsible for damage done by attacker, if there is one.
+     */
+    @Nullable
+    private static PlayerEntity getAttackingPlayer(@Nullable Entity attacker) {
+        if (attacker instanceof PlayerEntity playerEntity) {
+            return playerEntity;
+        } else if (!GetOffMyLawn.CONFIG.protectAgainstHostileExplosionsActivatedByTrustedPlayers && attacker instanceof MobEntity creeperEntity && creeperEntity.getTarget() instanceof PlayerEntity playerEntity) {
+            return playerEntity;
+        } else if (attacker instanceof ProjectileEntity projectileEntity && projectileEntity.getOwner() instanceof PlayerEntity playerEntity) {
+            return playerEntity;
+        } else if (attacker instanceof AreaEffectCloudEntity areaEffectCloudEntity && areaEffectCloudEntity.getOwner() instanceof PlayerEntity playerEntity) {
+            return playerEntity;
+        } else if (attacker instanceof TameableEntity tameableEntity && tameableEntity.getOwner() instanceof PlayerEntity playerEntity) {
+            return playerEntity;
+        }
+        return null;
+    }
+
+    /**
+     * Checks if damage without a responsible player needs to be checked against claims at source's origin.
+     */
+    private static boolean isProtectedFromSource(Entity entity, @Nullable Entity attacker, @Nullable Entity source) {
+        return !(entity instanceof PlayerEntity) && !(GetOffMyLawn.CONFIG.relaxedEntitySourceProtectionCheck && source instanceof LivingEntity) && source != null && (attacker == null || source == attacker);
+    }
+
+    private static boolean isAlwaysDamageable(Entity entity, PlayerEntity player) {
+        return entity == player || ((GetOffMyLawn.CONFIG.allowDamagingNamedHostileMobs
+                || (GetOffMyLawn.CONFIG.allowDamagingUnnamedHostileMobs && entity.getCustomName() == null))
+                && entity instanceof HostileEntity);
     }
 
     public static boolean canModify(World world, BlockPos pos, @Nullable PlayerEntity player) {
@@ -298,12 +537,29 @@ public class ClaimUtils {
             return true;
         }
 
-        Selection<Entry<ClaimBox, Claim>> claimsFound = ClaimUtils.getClaimsAt(world, pos);
-        if (player != null && claimsFound.isNotEmpty()) {
-            return !claimsFound.anyMatch((Entry<ClaimBox, Claim> boxInfo) -> !canModifyClaimAt(world, pos, boxInfo, player));
+        if (player == null) {
+            return !isClaimedAt(world, pos);
         }
 
-        return claimsFound.isEmpty();
+        return canModify(GetOffMyLawn.CLAIM.get(world), pos.getX(), pos.getY(), pos.getZ(), claim -> canModifyClaimAt(world, pos, claim, player));
+    }
+
+    /**
+     * Checks done by {@link #canModify(World, BlockPos, PlayerEntity)} for a player, taking claims from the component directly.
+     *
+     * @param canModifyClaim permission check of the player for a single claim
+     */
+    @ApiStatus.Internal
+    public static boolean canModify(ClaimComponent component, int x, int y, int z, Predicate<Claim> canModifyClaim) {
+        try (var claimsFound = ClaimList.acquire()) {
+            component.getClaimsAt(x, y, z, claimsFound);
+            for (var claim : claimsFound) {
+                if (!canModifyClaim.test(claim)) {
+                    return false;
+                }
+            }
+            return true;
+        }
     }
 
     @Nullable
@@ -314,11 +570,9 @@ public class ClaimUtils {
             GetOffMyLawn.LOGGER.warn(String.format("A claim anchor was requested at %s, but no Claim Anchor BE was found! Was the claim not properly removed? Removing the claim now.", claim.getOrigin().toString()));
 
             // Remove claim
-            GetOffMyLawn.CLAIM.get(world).getClaims().entries().forEach(entry -> {
-                if (entry.getValue() == claim) {
-                    claim.destroy();
-                }
-            });
+            if (getClaimWithOrigin(world, claim.getOrigin()) == claim) {
+                claim.destroy();
+            }
 
             return null;
         }
@@ -458,29 +712,132 @@ public class ClaimUtils {
         return hasMatchingClaims(world, target, origin, null);
     }
     public static boolean hasMatchingClaims(World world, BlockPos target, BlockPos origin, @Nullable UUID uuid) {
-        var claims = ClaimUtils.getClaimsAt(world, target);
+        try (var claims = ClaimUtils.getClaimsAt(world, target.getX(), target.getY(), target.getZ())) {
+            return hasMatchingClaims(world, claims, origin, uuid);
+        }
+    }
 
+    /**
+     * @param claims claims at target position
+     */
+    private static boolean hasMatchingClaims(World world, ClaimList claims, BlockPos origin, @Nullable UUID uuid) {
         if (claims.isEmpty()) {
             return true;
         }
-        var originClaims = ClaimUtils.getClaimsAt(world, origin);
 
-        if (originClaims.isEmpty() && uuid == null) {
+        try (var originClaims = ClaimUtils.getClaimsAt(world, origin.getX(), origin.getY(), origin.getZ())) {
+            if (originClaims.isEmpty() && uuid == null) {
+                return false;
+            }
+
+            for (var claim : claims) {
+                if (uuid != null && claim.hasPermission(uuid)) {
+                    return true;
+                }
+
+                for (var originClaim : originClaims) {
+                    if (claim.hasPermission(originClaim.getOwners()) || claim.hasPermission(originClaim.getTrusted())) {
+                        return true;
+                    }
+                }
+            }
+
             return false;
         }
+    }
 
-        var trusted = new HashSet<UUID>();
-        if (uuid != null) {
-            trusted.add(uuid);
+    public static boolean hasMatchingClaims(World world, BlockPos target, OriginOwner origin) {
+        return hasMatchingClaims(world, target, origin, null);
+    }
+
+    /**
+     * Same as {@link #hasMatchingClaims(World, BlockPos, BlockPos, UUID)}, but claims at origin are cached on the entity
+     * until claims of the world change, so entities checked often (like projectiles) don't look them up again every time.
+     */
+    public static boolean hasMatchingClaims(World world, BlockPos target, OriginOwner origin, @Nullable UUID uuid) {
+        try (var claims = ClaimUtils.getClaimsAt(world, target.getX(), target.getY(), target.getZ())) {
+            if (claims.isEmpty()) {
+                return true;
+            }
+
+            var originClaims = getOriginClaims(world, origin);
+            if (originClaims.length == 0 && uuid == null) {
+                return false;
+            }
+
+            for (var claim : claims) {
+                if (uuid != null && claim.hasPermission(uuid)) {
+                    return true;
+                }
+
+                for (var originClaim : originClaims) {
+                    if (claim.hasPermission(originClaim.getOwners()) || claim.hasPermission(originClaim.getTrusted())) {
+                        return true;
+                    }
+                }
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Returns result of last {@link #hasMatchingClaims(World, BlockPos, BlockPos, ClaimVerdictHolder, Direction)} call
+     * for given holder, or null if it isn't known or no longer valid.
+     */
+    @Nullable
+    public static Boolean getCachedMatchingClaims(World world, ClaimVerdictHolder holder, Direction facing) {
+        var verdict = holder.goml$getClaimVerdict();
+        if (verdict != null && verdict.isValid(GetOffMyLawn.CLAIM.get(world), Claim.getPermissionVersion(), facing)) {
+            return verdict.allowed();
+        }
+        return null;
+    }
+
+    /**
+     * Same as {@link #hasMatchingClaims(World, BlockPos, BlockPos)}, with result kept by holder until claims or their members change.
+     * Results for claims trusting groups aren't kept, as members of groups can change without any notice.
+     */
+    public static boolean hasMatchingClaims(World world, BlockPos target, BlockPos origin, ClaimVerdictHolder holder, Direction facing) {
+        var cached = getCachedMatchingClaims(world, holder, facing);
+        if (cached != null) {
+            return cached;
+        }
+
+        var component = GetOffMyLawn.CLAIM.get(world);
+        var version = Claim.getPermissionVersion();
+        var epoch = component.getEpoch();
+
+        try (var claims = ClaimUtils.getClaimsAt(world, target.getX(), target.getY(), target.getZ())) {
+            var allowed = hasMatchingClaims(world, claims, origin, null);
+
+            for (var claim : claims) {
+                if (claim.hasTrustedGroups()) {
+                    holder.goml$setClaimVerdict(null);
+                    return allowed;
+                }
+            }
+
+            holder.goml$setClaimVerdict(new ClaimVerdictHolder.ClaimVerdict(component, epoch, version, facing, allowed));
+            return allowed;
         }
+    }
 
-        originClaims.forEach(x -> {
-            trusted.addAll(x.getValue().getOwners());
-            trusted.addAll(x.getValue().getTrusted());
-        });
+    private static Claim[] getOriginClaims(World world, OriginOwner owner) {
+        var component = GetOffMyLawn.CLAIM.get(world);
+        var origin = owner.goml$getOriginSafe();
+        var cached = owner.goml$getOriginClaims();
 
-        return claims.anyMatch(x -> x.getValue().hasPermission(trusted));
+        if (cached != null && cached.isValid(component, origin)) {
+            return cached.claims();
+        }
 
+        Claim[] claims;
+        try (var list = ClaimUtils.getClaimsAt(world, origin.getX(), origin.getY(), origin.getZ())) {
+            claims = list.isEmpty() ? NO_CLAIMS : list.toArray(new Claim[0]);
+        }
+        owner.goml$setOriginClaims(new OriginOwner.OriginClaims(component, component.getEpoch(), origin.toImmutable(), claims));
+        return claims;
     }
 
     private static int claimColorIndex(Claim claim) {
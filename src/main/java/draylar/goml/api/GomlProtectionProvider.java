@@ -2,7 +2,6 @@ package draylar.goml.api;
 
 import com.mojang.authlib.GameProfile;
 import draylar.goml.GetOffMyLawn;
-import draylar.goml.registry.GOMLBlocks;
 import eu.pb4.common.protection.api.ProtectionProvider;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.mob.HostileEntity;
@@ -11,7 +10,6 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Box;
 import net.minecraft.world.World;
 import net.minecraft.world.explosion.Explosion;
-import org.apache.commons.lang3.mutable.MutableBoolean;
 import org.jetbrains.annotations.Nullable;
 
 public final class GomlProtectionProvider implements ProtectionProvider {
@@ -23,7 +21,7 @@ public final class GomlProtectionProvider implements ProtectionProvider {
         if (world.getServer() == null) {
             return false;
         }
-        return ClaimUtils.getClaimsAt(world, pos).isNotEmpty();
+        return ClaimUtils.isClaimedAt(world, pos);
     }
 
     @Override
@@ -43,8 +41,9 @@ public final class GomlProtectionProvider implements ProtectionProvider {
         if (player != null) {
             return ClaimUtils.canModify(world, pos, player);
         } else {
-            var claims = ClaimUtils.getClaimsAt(world, pos);
-            return claims.isEmpty() || claims.anyMatch((c) -> c.getValue().hasPermission(profile.id()));
+            try (var claims = ClaimUtils.getClaimsAt(world, pos.getX(), pos.getY(), pos.getZ())) {
+                return claims.isEmpty() || claims.anyWithPermission(profile.id());
+            }
         }
     }
 
@@ -66,7 +65,7 @@ public final class GomlProtectionProvider implements ProtectionProvider {
         if (world.getServer() == null) {
             return true;
         }
-        return GetOffMyLawn.CONFIG.canInteract(world.getBlockState(pos).getBlock()) || this.canBreakBlock(world, pos, profile, player);
+        return ProtectionEngine.isInteractionAllowed(world.getBlockState(pos)) || this.canBreakBlock(world, pos, profile, player);
     }
 
     @Override
@@ -74,7 +73,7 @@ public final class GomlProtectionProvider implements ProtectionProvider {
         if (world.getServer() == null) {
             return true;
         }
-        return GetOffMyLawn.CONFIG.canInteract(entity) || this.canBreakBlock(world, entity.getBlockPos(), profile, player);
+        return ProtectionEngine.isInteractionAllowed(entity) || this.canBreakBlock(world, entity.getBlockPos(), profile, player);
     }
 
     @Override
@@ -84,34 +83,10 @@ public final class GomlProtectionProvider implements ProtectionProvider {
         }
 
         if (entity instanceof PlayerEntity attackedPlayer) {
-            var claims = ClaimUtils.getClaimsAt(world, entity.getBlockPos());
-
-            if (claims.isEmpty()) {
-                return true;
-            } else {
-                claims = claims.filter((e) -> e.getValue().hasAugment(GOMLBlocks.PVP_ARENA.getFirst()));
-
-                if (claims.isEmpty()) {
-                    return GetOffMyLawn.CONFIG.enablePvPinClaims;
-                } else {
-                    var obj = new MutableBoolean();
-
-                    claims.forEach((e) -> {
-                        var claim = e.getValue();
-                        if (!obj.getValue()) {
-                            return;
-                        }
-
-                        obj.setValue(switch (claim.getData(GOMLBlocks.PVP_ARENA.getFirst().key)) {
-                            case EVERYONE -> true;
-                            case DISABLED -> player != null && ClaimUtils.isInAdminMode(player);
-                            case TRUSTED -> claim.hasPermission(profile.id()) && claim.hasPermission(attackedPlayer);
-                            case UNTRUSTED -> !claim.hasPermission(profile.id()) && !claim.hasPermission(attackedPlayer);
-                        });
-                    });
+            var pos = entity.getBlockPos();
 
-                    return obj.getValue();
-                }
+            try (var claims = ClaimUtils.getClaimsAt(world, pos.getX(), pos.getY(), pos.getZ())) {
+                return ProtectionEngine.canAttackPlayer(claims, profile.id(), attackedPlayer) || (player != null && ClaimUtils.isInAdminMode(player));
             }
         }
 
@@ -0,0 +1,177 @@
+package draylar.goml.api;
+
+import draylar.goml.GetOffMyLawn;
+import draylar.goml.api.event.ClaimEvents;
+import draylar.goml.registry.GOMLBlocks;
+import draylar.goml.registry.GOMLTags;
+import net.minecraft.block.BlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.util.ActionResult;
+import net.minecraft.util.Hand;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import java.util.UUID;
+
+/**
+ * Protection decisions for actions done by players, shared by event handlers, {@link ClaimUtils} and {@link GomlProtectionProvider}.
+ *
+ * <p>Every decision is made from a single claim lookup. Unclaimed positions are allowed before admin mode or any permission is checked.
+ * Checks triggered by the same action should share a {@link Context}, so claims already known to permit the player
+ * and admin mode of the player are only resolved once.
+ */
+public final class ProtectionEngine {
+    private ProtectionEngine() {
+    }
+
+    /**
+     * Starts checks for a single action of given player. Returned context must be closed once done.
+     */
+    public static Context begin(World world, PlayerEntity player, Hand hand) {
+        return new Context(world, player, hand);
+    }
+
+    public static boolean isInteractionAllowed(BlockState state) {
+        return GetOffMyLawn.CONFIG.canInteract(state.getBlock()) || state.isIn(GOMLTags.ALLOWED_INTERACTIONS_BLOCKS);
+    }
+
+    public static boolean isInteractionAllowed(Entity entity) {
+        return GetOffMyLawn.CONFIG.canInteract(entity) || entity.getType().isIn(GOMLTags.ALLOWED_INTERACTIONS_ENTITY);
+    }
+
+    /**
+     * Checks if attacker can attack another player within given claims, following their PvP arena settings.
+     * Admin mode isn't taken into account.
+     */
+    public static boolean canAttackPlayer(ClaimList claims, UUID attacker, PlayerEntity attacked) {
+        if (claims.isEmpty()) {
+            return true;
+        }
+
+        var hasArena = false;
+
+        for (var claim : claims) {
+            if (!claim.hasAugment(GOMLBlocks.PVP_ARENA.getFirst())) {
+                continue;
+            }
+            hasArena = true;
+
+            var allowed = switch (claim.getData(GOMLBlocks.PVP_ARENA.getFirst().key)) {
+                case EVERYONE -> true;
+                case DISABLED -> false;
+                case TRUSTED -> claim.hasPermission(attacker) && claim.hasPermission(attacked);
+                case UNTRUSTED -> !claim.hasPermission(attacker) && !claim.hasPermission(attacked);
+                case null -> false;
+            };
+
+            if (!allowed) {
+                return false;
+            }
+        }
+
+        return hasArena || GetOffMyLawn.CONFIG.enablePvPinClaims;
+    }
+
+    public static final class Context implements AutoCloseable {
+        private static final byte UNKNOWN = 0;
+        private static final byte NO = 1;
+        private static final byte YES = 2;
+
+        private final World world;
+        private final PlayerEntity player;
+        private final Hand hand;
+        /**
+         * Claims already found to give the player permission.
+         */
+        private final ClaimList permitted = ClaimList.acquire();
+        private byte adminMode = UNKNOWN;
+
+        private Context(World world, PlayerEntity player, Hand hand) {
+            this.world = world;
+            this.player = player;
+            this.hand = hand;
+        }
+
+        public PlayerEntity getPlayer() {
+            return this.player;
+        }
+
+        public boolean isInAdminMode() {
+            if (this.adminMode == UNKNOWN) {
+                this.adminMode = ClaimUtils.isInAdminMode(this.player) ? YES : NO;
+            }
+            return this.adminMode == YES;
+        }
+
+        /**
+         * Checks if player can act at given position. On denial, {@link ClaimEvents#PERMISSION_DENIED} is invoked
+         * and player is told the reason, unless a listener allowed it.
+         */
+        public ActionResult test(BlockPos pos, PermissionReason reason) {
+            try (var claims = ClaimUtils.getClaimsAt(this.world, pos.getX(), pos.getY(), pos.getZ())) {
+                return this.test(claims, pos, reason);
+            }
+        }
+
+        /**
+         * Same as {@link #test(BlockPos, PermissionReason)}, with claims at the position already looked up.
+         */
+        public ActionResult test(ClaimList claims, BlockPos pos, PermissionReason reason) {
+            if (claims.isEmpty() || this.world.isClient()) {
+                return ActionResult.PASS;
+            }
+
+            for (var claim : claims) {
+                if (this.permitted.contains(claim)) {
+                    continue;
+                }
+
+                if (!claim.hasPermission(this.player)) {
+                    return this.isInAdminMode() ? ActionResult.PASS : this.deny(pos, reason);
+                }
+                this.permitted.add(claim);
+            }
+
+            return ActionResult.PASS;
+        }
+
+        /**
+         * Checks if player can interact with or damage given entity. Other players are protected by PvP rules of claims instead,
+         * which fail without notifying anyone.
+         */
+        public ActionResult testEntity(Entity entity, PermissionReason reason) {
+            var pos = entity.getBlockPos();
+            try (var claims = ClaimUtils.getClaimsAt(this.world, pos.getX(), pos.getY(), pos.getZ())) {
+                return this.testEntity(entity, pos, claims, reason);
+            }
+        }
+
+        /**
+         * Same as {@link #testEntity(Entity, PermissionReason)}, with claims at position of the entity already looked up.
+         */
+        public ActionResult testEntity(Entity entity, BlockPos pos, ClaimList claims, PermissionReason reason) {
+            if (entity instanceof PlayerEntity attacked) {
+                return canAttackPlayer(claims, this.player.getUuid(), attacked) || this.isInAdminMode() ? ActionResult.PASS : ActionResult.FAIL;
+            }
+
+            return this.test(claims, pos, reason);
+        }
+
+        private ActionResult deny(BlockPos pos, PermissionReason reason) {
+            ActionResult check = ClaimEvents.PERMISSION_DENIED.invoker().check(this.player, this.world, this.hand, pos, reason);
+
+            if (check.isAccepted() || check.equals(ActionResult.PASS)) {
+                this.player.sendMessage(reason.getReason(), true);
+                return ActionResult.FAIL;
+            }
+
+            return ActionResult.PASS;
+        }
+
+        @Override
+        public void close() {
+            this.permitted.close();
+        }
+    }
+}
@@ -56,6 +56,26 @@ public interface PlayerGroupProvider {
         return list;
     }
 
+    /**
+     * Marks membership of any group as changed, invalidating permission decisions cached by claims.
+     * Providers returning true from {@link #tracksMembershipChanges()} need to call it every time members of their groups change.
+     */
+    static void markMembershipChanged() {
+        GomlObjects.GROUP_MEMBERSHIP_VERSION.incrementAndGet();
+    }
+
+    static long getMembershipVersion() {
+        return GomlObjects.GROUP_MEMBERSHIP_VERSION.get();
+    }
+
+    /**
+     * Whether this provider calls {@link #markMembershipChanged()} on every membership change.
+     * Only groups of such providers are cached by claim permission checks.
+     */
+    default boolean tracksMembershipChanges() {
+        return false;
+    }
+
     @Nullable
     PlayerGroup getGroupOf(PlayerEntity player);
 
@@ -119,13 +119,24 @@ public class ClaimAnchorBlock extends Block implements BlockEntityProvider, Poly
 
     @Override
     public float calcBlockBreakingDelta(BlockState state, PlayerEntity player, BlockView world, BlockPos pos) {
-        if (ClaimUtils.isInAdminMode(player) || (world instanceof ServerWorld serverWorld && ClaimUtils.getClaimsAt(serverWorld, pos).anyMatch(x -> x.getValue().isOwner(player)))) {
+        if (ClaimUtils.isInAdminMode(player) || (world instanceof ServerWorld serverWorld && isOwnerAt(serverWorld, pos, player))) {
             return super.calcBlockBreakingDelta(state, player, world, pos);
         } else {
             return 0;
         }
     }
 
+    private static boolean isOwnerAt(ServerWorld world, BlockPos pos, PlayerEntity player) {
+        try (var claims = ClaimUtils.getClaimsAt(world, pos.getX(), pos.getY(), pos.getZ())) {
+            for (var claim : claims) {
+                if (claim.isOwner(player)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     @Nullable
     @Override
     public BlockEntity createBlockEntity(BlockPos pos, BlockState state) {
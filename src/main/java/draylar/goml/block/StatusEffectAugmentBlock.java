@@ -0,0 +1,125 @@
+package draylar.goml.block;
+
+import draylar.goml.api.Claim;
+import draylar.goml.api.ClaimUtils;
+import net.minecraft.entity.effect.StatusEffect;
+import net.minecraft.entity.effect.StatusEffectInstance;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.registry.entry.RegistryEntry;
+
+import java.util.List;
+
+/**
+ * Augment granting status effects to selected players in its claim.
+ *
+ * <p>Effects are given with a long duration on enter and only refreshed once they get close to expiring,
+ * instead of being replaced every tick. They are removed on exit, unless the player is still in another claim with the same augment.
+ * Only effects matching ones given by the augment are removed, so effects from other sources (like potions) are kept.
+ * While a player has such effect of the same type, the augment leaves it alone and only gives its own once that one expires.
+ */
+public class StatusEffectAugmentBlock extends SelectiveClaimAugmentBlock {
+    /**
+     * Duration of given effects. It's finite, so effects of players that didn't leave cleanly (like by disconnecting) wear off by themselves.
+     */
+    public static final int DURATION = 20 * 15;
+    private static final int TICK_INTERVAL = 20;
+    /**
+     * Effects are refreshed once their remaining duration drops below this, which leaves a few checks of margin.
+     */
+    private static final int REFRESH_BELOW = TICK_INTERVAL * 3;
+
+    private final List<Effect> effects;
+
+    public StatusEffectAugmentBlock(String key, Settings settings, String texture, Effect... effects) {
+        super(key, settings, texture);
+        this.effects = List.of(effects);
+    }
+
+    @Override
+    public boolean ticks() {
+        return true;
+    }
+
+    @Override
+    public int getTickInterval() {
+        return TICK_INTERVAL;
+    }
+
+    @Override
+    public void playerTick(Claim claim, PlayerEntity player) {
+        if (!this.canApply(claim, player)) {
+            // Player could have been removed from selected ones while in the claim
+            if (this.hasGivenEffect(player) && !this.isAppliedElsewhere(player, claim)) {
+                this.removeEffect(player);
+            }
+            return;
+        }
+
+        for (var effect : this.effects) {
+            var current = player.getStatusEffect(effect.type());
+            if (current == null || (effect.matches(current) && current.getDuration() < REFRESH_BELOW)) {
+                player.addStatusEffect(effect.create());
+            }
+        }
+    }
+
+    @Override
+    public void onPlayerExit(Claim claim, PlayerEntity player) {
+        if (!this.isAppliedElsewhere(player, claim)) {
+            super.onPlayerExit(claim, player);
+        }
+    }
+
+    @Override
+    public void applyEffect(PlayerEntity player) {
+        for (var effect : this.effects) {
+            var current = player.getStatusEffect(effect.type());
+            if (current == null || effect.matches(current)) {
+                player.addStatusEffect(effect.create());
+            }
+        }
+    }
+
+    @Override
+    public void removeEffect(PlayerEntity player) {
+        for (var effect : this.effects) {
+            var current = player.getStatusEffect(effect.type());
+            if (current != null && effect.matches(current) && current.getDuration() <= DURATION) {
+                player.removeStatusEffect(effect.type());
+            }
+        }
+    }
+
+    private boolean hasGivenEffect(PlayerEntity player) {
+        for (var effect : this.effects) {
+            var current = player.getStatusEffect(effect.type());
+            if (current != null && effect.matches(current) && current.getDuration() <= DURATION) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isAppliedElsewhere(PlayerEntity player, Claim ignored) {
+        for (var claim : ClaimUtils.getCurrentClaims(player)) {
+            if (claim != ignored && claim.hasAugment(this) && this.canApply(claim, player)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public record Effect(RegistryEntry<StatusEffect> type, int amplifier) {
+        public static Effect of(RegistryEntry<StatusEffect> type) {
+            return new Effect(type, 0);
+        }
+
+        private StatusEffectInstance create() {
+            return new StatusEffectInstance(this.type, DURATION, this.amplifier, true, false);
+        }
+
+        private boolean matches(StatusEffectInstance instance) {
+            return instance.getAmplifier() == this.amplifier && instance.isAmbient() && !instance.shouldShowParticles();
+        }
+    }
+}
@@ -28,8 +28,8 @@ import net.minecraft.text.MutableText;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
 import net.minecraft.util.Pair;
-import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.Heightmap;
 import net.minecraft.world.World;
@@ -39,7 +39,6 @@ import org.jetbrains.annotations.Nullable;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 public class ForceFieldAugmentBlock extends ClaimAugmentBlock {
 
@@ -145,10 +144,15 @@ public class ForceFieldAugmentBlock extends ClaimAugmentBlock {
 
 
     private int shouldBlock(World world, Vec3d pos, PlayerEntity player) {
-        var x = ClaimUtils.getClaimsAt(world, BlockPos.ofFloored(pos))
-                .filter(entry -> entry.getValue().hasAugment(this) && shouldBlock(entry.getValue(), player)).collect(Collectors.toList());
+        try (var claims = ClaimUtils.getClaimsAt(world, MathHelper.floor(pos.x), MathHelper.floor(pos.y), MathHelper.floor(pos.z))) {
+            for (var claim : claims) {
+                if (claim.hasAugment(this) && shouldBlock(claim, player)) {
+                    return claim.getRadius();
+                }
+            }
+        }
 
-        return x.isEmpty() ? -1 : x.get(0).getValue().getRadius();
+        return -1;
     }
 
     @Override
@@ -9,6 +9,7 @@ import io.github.ladysnake.pal.Pal;
 import io.github.ladysnake.pal.VanillaAbilities;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.minecraft.entity.player.PlayerEntity;
+import org.jetbrains.annotations.Nullable;
 
 public class HeavenWingsAugmentBlock extends SelectiveClaimAugmentBlock {
 
@@ -22,10 +23,7 @@ public class HeavenWingsAugmentBlock extends SelectiveClaimAugmentBlock {
                     return;
                 }
 
-                var canFly = ClaimUtils.getClaimsAt(handler.player.getEntityWorld(), handler.player.getBlockPos())
-                        .filter(x -> x.getValue().hasAugment(this) && this.canApply(x.getValue(), handler.player)).isNotEmpty();
-
-                if (canFly) {
+                if (this.canFlyAt(handler.player, null)) {
                     return;
                 }
 
@@ -46,11 +44,17 @@ public class HeavenWingsAugmentBlock extends SelectiveClaimAugmentBlock {
 
     @Override
     public void onPlayerExit(Claim claim, PlayerEntity player) {
-        var canFly = ClaimUtils.getClaimsAt(player.getEntityWorld(), player.getBlockPos())
-                .filter(x -> x.getValue() != claim && x.getValue().hasAugment(this) && this.canApply(x.getValue(), player)).isNotEmpty();
-
-        if (!canFly) {
+        if (!this.canFlyAt(player, claim)) {
             super.onPlayerExit(claim, player);
         }
     }
+
+    private boolean canFlyAt(PlayerEntity player, @Nullable Claim ignored) {
+        for (var claim : ClaimUtils.getCurrentClaims(player)) {
+            if (claim != ignored && claim.hasAugment(this) && this.canApply(claim, player)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -7,6 +7,7 @@ import net.minecraft.entity.effect.StatusEffects;
 import net.minecraft.entity.player.PlayerEntity;
 
 public class WitheringSealAugmentBlock extends SelectiveClaimAugmentBlock {
+    private static final int INTERVAL = 5;
 
     public WitheringSealAugmentBlock(Settings settings, String texture) {
         super("withering_seal", settings, texture);
@@ -17,6 +18,11 @@ public class WitheringSealAugmentBlock extends SelectiveClaimAugmentBlock {
         return true;
     }
 
+    @Override
+    public int getTickInterval() {
+        return INTERVAL;
+    }
+
     @Override
     public void playerTick(Claim claim, PlayerEntity player) {
         if (canApply(claim, player)) {
@@ -26,7 +26,6 @@ import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 public class ClaimAnchorBlockEntity extends BlockEntity implements PolymerObject {
 
@@ -46,9 +45,9 @@ public class ClaimAnchorBlockEntity extends BlockEntity implements PolymerObject
 
             // Claim is null, world probably just loaded, re-grab claim
             if (anchor.claim == null) {
-                var collect = ClaimUtils.getClaimsAt(anchor.world, anchor.pos).filter(x -> x.getValue().getOrigin().equals(pos)).collect(Collectors.toList());
+                var claim = ClaimUtils.getClaimWithOrigin(world, pos);
 
-                if (collect.isEmpty()) {
+                if (claim == null) {
                     GetOffMyLawn.LOGGER.warn(String.format("A Claim Anchor at %s tried to initialize its claim, but one could not be found! Was the claim removed without the anchor?", anchor.pos));
                     world.breakBlock(pos, true);
                     for (var lPos : anchor.loadPositions) {
@@ -56,9 +55,8 @@ public class ClaimAnchorBlockEntity extends BlockEntity implements PolymerObject
                     }
                     return;
                 } else {
-                    var entry = collect.get(0);
-                    anchor.claim = entry.getValue();
-                    anchor.box = entry.getKey();
+                    anchor.claim = claim;
+                    anchor.box = claim.getClaimBox();
                 }
             }
 
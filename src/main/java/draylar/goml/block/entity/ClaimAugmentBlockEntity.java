@@ -1,11 +1,8 @@
 package draylar.goml.block.entity;
 
-import com.jamieswhiteshirt.rtree3i.Entry;
-import com.jamieswhiteshirt.rtree3i.Selection;
 import draylar.goml.GetOffMyLawn;
 import draylar.goml.api.Augment;
 import draylar.goml.api.Claim;
-import draylar.goml.api.ClaimBox;
 import draylar.goml.api.ClaimUtils;
 import draylar.goml.registry.GOMLEntities;
 import eu.pb4.polymer.core.api.utils.PolymerObject;
@@ -20,7 +17,6 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.stream.Collectors;
 
 public class ClaimAugmentBlockEntity extends BlockEntity implements PolymerObject {
 
@@ -40,29 +36,27 @@ public class ClaimAugmentBlockEntity extends BlockEntity implements PolymerObjec
         if (world instanceof ServerWorld && baseBlockEntity instanceof ClaimAugmentBlockEntity entity) {
             // Parent is null and parent position is not null, assume we are just loading the augment from tags.
             if (entity.claim == null) {
-                Selection<Entry<ClaimBox, Claim>> claims = null;
-
                 if (entity.claimPosition != null) {
-                    claims = ClaimUtils.getClaimsWithOrigin(world, entity.claimPosition);
+                    entity.claim = ClaimUtils.getClaimWithOrigin(world, entity.claimPosition);
                 } else if (entity.parentPosition != null) {
-                    claims = ClaimUtils.getClaimsAt(world, entity.parentPosition);
-                }
-
-                if (claims != null) {
-                    if (claims.isNotEmpty()) {
-                        entity.claim = claims.collect(Collectors.toList()).get(0).getValue();
-                        entity.claimPosition = entity.claim.getOrigin();
-                        entity.markDirty();
-                    } else {
-                        GetOffMyLawn.LOGGER.warn(String.format("An augment at %s tried to locate a parent at %s, but it could not be found!", entity.pos.toString(), entity.claimPosition.toString()));
-                        world.breakBlock(pos, true);
-                        return;
+                    var parent = entity.parentPosition;
+                    try (var claims = ClaimUtils.getClaimsAt(world, parent.getX(), parent.getY(), parent.getZ())) {
+                        entity.claim = claims.isNotEmpty() ? claims.getFirst() : null;
                     }
                 } else {
                     GetOffMyLawn.LOGGER.warn(String.format("An augment at %s has an invalid parent and parent position! Removing now.", entity.pos.toString()));
                     world.breakBlock(pos, true);
                     return;
                 }
+
+                if (entity.claim != null) {
+                    entity.claimPosition = entity.claim.getOrigin();
+                    entity.markDirty();
+                } else {
+                    GetOffMyLawn.LOGGER.warn(String.format("An augment at %s tried to locate a parent at %s, but it could not be found!", entity.pos.toString(), entity.claimPosition != null ? entity.claimPosition : entity.parentPosition));
+                    world.breakBlock(pos, true);
+                    return;
+                }
             } else {
                 if (entity.claim.isDestroyed()) {
                     world.breakBlock(pos, true);
@@ -0,0 +1,153 @@
+package draylar.goml.cca;
+
+import draylar.goml.api.Augment;
+import draylar.goml.api.Claim;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Timing wheel running ticking augments of a world's claims, only on ticks they are due at.
+ *
+ * <p>Each augment ticks every {@link Augment#getTickInterval()} ticks, offset by its {@link Augment#getTickPhase(BlockPos)},
+ * so augments with the same interval are spread across ticks instead of all running at once. Only the slot of the current tick
+ * is visited, so augments that aren't due cost nothing.
+ *
+ * <p>Only active claims are scheduled, which are claims with at least one loaded chunk. Claims add and remove themselves
+ * as their chunks get loaded and unloaded, so idle claims cost nothing per tick.
+ */
+@ApiStatus.Internal
+public final class AugmentTickScheduler {
+    private static final int WHEEL_SIZE = 128;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    @SuppressWarnings("unchecked")
+    private final ArrayList<Task>[] wheel = new ArrayList[WHEEL_SIZE];
+    private final Map<TaskKey, Task> tasks = new HashMap<>();
+    private long tick;
+
+    public AugmentTickScheduler() {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            this.wheel[i] = new ArrayList<>();
+        }
+    }
+
+    public void scheduleAll(Claim claim) {
+        if (!claim.internal_isChunkLoaded()) {
+            return;
+        }
+
+        for (var augment : claim.getAugments().entrySet()) {
+            this.schedule(claim, augment.getKey(), augment.getValue());
+        }
+    }
+
+    public void schedule(Claim claim, BlockPos pos, Augment augment) {
+        if (augment == null || !augment.ticks() || !claim.internal_isChunkLoaded()) {
+            return;
+        }
+
+        var key = new TaskKey(claim, pos);
+        var existing = this.tasks.get(key);
+        if (existing != null) {
+            if (existing.augment == augment) {
+                return;
+            }
+            existing.cancelled = true;
+        }
+
+        var interval = Math.max(augment.getTickInterval(), 1);
+        var next = this.tick + 1;
+        var task = new Task(claim, augment, interval, next + Math.floorMod(augment.getTickPhase(pos) - next, interval));
+        this.tasks.put(key, task);
+        this.wheel[(int) (task.due & WHEEL_MASK)].add(task);
+    }
+
+    public void unschedule(Claim claim, BlockPos pos) {
+        var task = this.tasks.remove(new TaskKey(claim, pos));
+        if (task != null) {
+            task.cancelled = true;
+        }
+    }
+
+    public void unscheduleAll(Claim claim) {
+        for (var pos : claim.getAugments().keySet()) {
+            this.unschedule(claim, pos);
+        }
+    }
+
+    public void clear() {
+        for (var task : this.tasks.values()) {
+            task.cancelled = true;
+        }
+        this.tasks.clear();
+        for (var slot : this.wheel) {
+            slot.clear();
+        }
+    }
+
+    public void tick(ServerWorld world) {
+        var tick = ++this.tick;
+        var slot = this.wheel[(int) (tick & WHEEL_MASK)];
+
+        for (int i = 0; i < slot.size(); ) {
+            var task = slot.get(i);
+
+            if (!task.cancelled && task.due != tick) {
+                // Intervals longer than the wheel stay in their slot until their round comes
+                i++;
+                continue;
+            }
+
+            if (!task.cancelled) {
+                task.run(world);
+                task.due += task.interval;
+
+                if ((task.due & WHEEL_MASK) == (tick & WHEEL_MASK)) {
+                    i++;
+                    continue;
+                }
+                this.wheel[(int) (task.due & WHEEL_MASK)].add(task);
+            }
+
+            // Swap remove, as order within a slot doesn't matter
+            var last = slot.removeLast();
+            if (i < slot.size()) {
+                slot.set(i, last);
+            }
+        }
+    }
+
+    private record TaskKey(Claim claim, BlockPos pos) {
+    }
+
+    private static final class Task {
+        private final Claim claim;
+        private final Augment augment;
+        private final int interval;
+        private long due;
+        private boolean cancelled;
+
+        private Task(Claim claim, Augment augment, int interval, long due) {
+            this.claim = claim;
+            this.augment = augment;
+            this.interval = interval;
+            this.due = due;
+        }
+
+        private void run(ServerWorld world) {
+            if (!this.augment.isEnabled(this.claim, world)) {
+                return;
+            }
+
+            this.augment.tick(this.claim, world);
+            for (var player : this.claim.internal_getPlayers()) {
+                this.augment.playerTick(this.claim, player);
+            }
+        }
+    }
+}
@@ -0,0 +1,422 @@
+package draylar.goml.cca;
+
+import draylar.goml.api.Claim;
+import draylar.goml.api.ClaimBox;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.ChunkPos;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Secondary claim index, bucketing claims by every chunk column they cover.
+ *
+ * <p>It's kept in sync with the claim tree by {@link WorldClaimComponent}, which makes point queries
+ * a single hash lookup followed by a scan over the few claims covering that chunk.
+ * Buckets are never modified in place, every change replaces the bucket of affected chunks.
+ */
+@ApiStatus.Internal
+public final class ChunkClaimIndex {
+    /**
+     * Claims covering more chunks than this (mostly admin claims) are kept in a separate list,
+     * instead of being copied into thousands of buckets.
+     */
+    private static final long MAX_BUCKETED_CHUNKS = 64 * 64;
+    /**
+     * Lowest chunk section tracked by section masks of buckets. Heights outside the 64 sections above it
+     * (which vanilla dimensions never reach) skip the mask test.
+     */
+    private static final int MASK_BOTTOM_SECTION = -32;
+    private static final Entry[] EMPTY = new Entry[0];
+
+    private final Long2ObjectOpenHashMap<Bucket> buckets = new Long2ObjectOpenHashMap<>();
+    private Entry[] oversized = EMPTY;
+
+    public void add(Claim claim) {
+        var key = claim.getClaimBox();
+        // Same behaviour as the tree, claims with equal box replace the old one
+        this.remove(key);
+
+        var entry = Entry.of(key, claim);
+
+        if (isEmpty(entry)) {
+            return;
+        }
+
+        if (isOversized(entry)) {
+            this.oversized = append(this.oversized, entry);
+            return;
+        }
+
+        for (int x = entry.minChunkX(); x <= entry.maxChunkX(); x++) {
+            for (int z = entry.minChunkZ(); z <= entry.maxChunkZ(); z++) {
+                var pos = ChunkPos.toLong(x, z);
+                var bucket = this.buckets.get(pos);
+                this.buckets.put(pos, new Bucket(bucket != null ? append(bucket.entries, entry) : new Entry[]{ entry }, x, z));
+            }
+        }
+    }
+
+    public void remove(ClaimBox key) {
+        var lookup = Entry.of(key, null);
+
+        if (isEmpty(lookup)) {
+            return;
+        }
+
+        if (isOversized(lookup)) {
+            this.oversized = without(this.oversized, key);
+            return;
+        }
+
+        for (int x = lookup.minChunkX(); x <= lookup.maxChunkX(); x++) {
+            for (int z = lookup.minChunkZ(); z <= lookup.maxChunkZ(); z++) {
+                var pos = ChunkPos.toLong(x, z);
+                var bucket = this.buckets.get(pos);
+
+                if (bucket == null) {
+                    continue;
+                }
+
+                var entries = without(bucket.entries, key);
+
+                if (entries.length == 0) {
+                    this.buckets.remove(pos);
+                } else if (entries != bucket.entries) {
+                    this.buckets.put(pos, new Bucket(entries, x, z));
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        this.buckets.clear();
+        this.oversized = EMPTY;
+    }
+
+    /**
+     * Replaces whole index with given claims, creating every bucket only once.
+     * Claims need to have unique boxes, as they would replace each other otherwise.
+     */
+    public void rebuild(Collection<Claim> claims) {
+        this.clear();
+
+        var pending = new Long2ObjectOpenHashMap<ArrayList<Entry>>();
+        var oversized = new ArrayList<Entry>();
+
+        for (var claim : claims) {
+            var entry = Entry.of(claim.getClaimBox(), claim);
+
+            if (isEmpty(entry)) {
+                continue;
+            }
+
+            if (isOversized(entry)) {
+                oversized.add(entry);
+                continue;
+            }
+
+            for (int x = entry.minChunkX(); x <= entry.maxChunkX(); x++) {
+                for (int z = entry.minChunkZ(); z <= entry.maxChunkZ(); z++) {
+                    pending.computeIfAbsent(ChunkPos.toLong(x, z), pos -> new ArrayList<>()).add(entry);
+                }
+            }
+        }
+
+        this.buckets.ensureCapacity(pending.size());
+        for (var bucket : Long2ObjectMaps.fastIterable(pending)) {
+            var pos = bucket.getLongKey();
+            this.buckets.put(pos, new Bucket(bucket.getValue().toArray(EMPTY), ChunkPos.getPackedX(pos), ChunkPos.getPackedZ(pos)));
+        }
+        this.oversized = oversized.toArray(EMPTY);
+    }
+
+    public boolean hasClaimAt(int x, int y, int z) {
+        var bucket = this.buckets.get(ChunkPos.toLong(x >> 4, z >> 4));
+
+        if (bucket != null && bucket.mayContain(y)) {
+            var entries = bucket.entries;
+            if (bucket.coversColumns) {
+                for (var entry : entries) {
+                    if (y >= entry.y1 && y < entry.y2) {
+                        return true;
+                    }
+                }
+            } else {
+                for (var entry : entries) {
+                    if (entry.contains(x, y, z)) {
+                        return true;
+                    }
+                }
+            }
+        }
+
+        for (var entry : this.oversized) {
+            if (entry.contains(x, y, z)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks if any claim intersects given chunk section. Unlike point queries, this can return true
+     * for sections only partially covered by claims.
+     */
+    public boolean isSectionClaimed(int sectionX, int sectionY, int sectionZ) {
+        var bucket = this.buckets.get(ChunkPos.toLong(sectionX, sectionZ));
+
+        if (bucket != null && bucket.mayContain(sectionY << 4)) {
+            for (var entry : bucket.entries) {
+                if (entry.intersectsSection(sectionX, sectionY, sectionZ)) {
+                    return true;
+                }
+            }
+        }
+
+        for (var entry : this.oversized) {
+            if (entry.intersectsSection(sectionX, sectionY, sectionZ)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Adds all claims intersecting given chunk section to the collection, as long as each of them contains the whole section.
+     *
+     * @return false if any claim only partially covers the section, in which case collected claims are incomplete
+     */
+    public boolean getUniformSectionClaims(int sectionX, int sectionY, int sectionZ, Collection<Claim> out) {
+        var bucket = this.buckets.get(ChunkPos.toLong(sectionX, sectionZ));
+
+        if (bucket != null && bucket.mayContain(sectionY << 4)) {
+            for (var entry : bucket.entries) {
+                if (entry.intersectsSection(sectionX, sectionY, sectionZ)) {
+                    if (!entry.containsSection(sectionX, sectionY, sectionZ)) {
+                        return false;
+                    }
+                    out.add(entry.claim);
+                }
+            }
+        }
+
+        for (var entry : this.oversized) {
+            if (entry.intersectsSection(sectionX, sectionY, sectionZ)) {
+                if (!entry.containsSection(sectionX, sectionY, sectionZ)) {
+                    return false;
+                }
+                out.add(entry.claim);
+            }
+        }
+
+        return true;
+    }
+
+    public void getClaimsAt(int x, int y, int z, Collection<Claim> out) {
+        var bucket = this.buckets.get(ChunkPos.toLong(x >> 4, z >> 4));
+
+        if (bucket != null && bucket.mayContain(y)) {
+            var entries = bucket.entries;
+            if (bucket.coversColumns) {
+                for (var entry : entries) {
+                    if (y >= entry.y1 && y < entry.y2) {
+                        out.add(entry.claim);
+                    }
+                }
+            } else {
+                for (var entry : entries) {
+                    if (entry.contains(x, y, z)) {
+                        out.add(entry.claim);
+                    }
+                }
+            }
+        }
+
+        for (var entry : this.oversized) {
+            if (entry.contains(x, y, z)) {
+                out.add(entry.claim);
+            }
+        }
+    }
+
+    /**
+     * Adds all claims whose box touches given box, with both corners inclusive, to the collection.
+     * Meant for small areas, like bounding boxes of entities.
+     */
+    public void getClaimsTouching(int minX, int minY, int minZ, int maxX, int maxY, int maxZ, Collection<Claim> out) {
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                var bucket = this.buckets.get(ChunkPos.toLong(chunkX, chunkZ));
+                if (bucket == null) {
+                    continue;
+                }
+
+                for (var entry : bucket.entries) {
+                    if (entry.touches(minX, minY, minZ, maxX, maxY, maxZ) && !out.contains(entry.claim)) {
+                        out.add(entry.claim);
+                    }
+                }
+            }
+        }
+
+        for (var entry : this.oversized) {
+            if (entry.touches(minX, minY, minZ, maxX, maxY, maxZ)) {
+                out.add(entry.claim);
+            }
+        }
+    }
+
+    /**
+     * Passes every claim covering any part of given chunk column to the consumer, without checking claims elsewhere.
+     */
+    public void forEachClaimInChunk(int chunkX, int chunkZ, Consumer<Claim> consumer) {
+        var bucket = this.buckets.get(ChunkPos.toLong(chunkX, chunkZ));
+        if (bucket != null) {
+            for (var entry : bucket.entries) {
+                consumer.accept(entry.claim);
+            }
+        }
+
+        for (var entry : this.oversized) {
+            if (entry.minChunkX() <= chunkX && entry.maxChunkX() >= chunkX && entry.minChunkZ() <= chunkZ && entry.maxChunkZ() >= chunkZ) {
+                consumer.accept(entry.claim);
+            }
+        }
+    }
+
+    private static boolean isEmpty(Entry entry) {
+        return entry.x1 >= entry.x2 || entry.y1 >= entry.y2 || entry.z1 >= entry.z2;
+    }
+
+    private static boolean isOversized(Entry entry) {
+        return (long) (entry.maxChunkX() - entry.minChunkX() + 1) * (long) (entry.maxChunkZ() - entry.minChunkZ() + 1) > MAX_BUCKETED_CHUNKS;
+    }
+
+    private static Entry[] append(Entry[] entries, Entry entry) {
+        var copy = Arrays.copyOf(entries, entries.length + 1);
+        copy[entries.length] = entry;
+        return copy;
+    }
+
+    private static Entry[] without(Entry[] entries, ClaimBox key) {
+        int count = 0;
+        for (var entry : entries) {
+            if (entry.key.equals(key)) {
+                count++;
+            }
+        }
+
+        if (count == 0) {
+            return entries;
+        } else if (count == entries.length) {
+            return EMPTY;
+        }
+
+        var copy = new Entry[entries.length - count];
+        int i = 0;
+        for (var entry : entries) {
+            if (!entry.key.equals(key)) {
+                copy[i++] = entry;
+            }
+        }
+        return copy;
+    }
+
+    private record Entry(ClaimBox key, Claim claim, int x1, int y1, int z1, int x2, int y2, int z2) {
+        static Entry of(ClaimBox key, Claim claim) {
+            var box = key.toBox();
+            return new Entry(key, claim, box.x1(), box.y1(), box.z1(), box.x2(), box.y2(), box.z2());
+        }
+
+        boolean contains(int x, int y, int z) {
+            return x >= this.x1 && x < this.x2 && y >= this.y1 && y < this.y2 && z >= this.z1 && z < this.z2;
+        }
+
+        boolean touches(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+            return this.x1 <= maxX && this.x2 >= minX && this.y1 <= maxY && this.y2 >= minY && this.z1 <= maxZ && this.z2 >= minZ;
+        }
+
+        boolean intersectsSection(int sectionX, int sectionY, int sectionZ) {
+            return this.x1 < (sectionX << 4) + 16 && this.x2 > sectionX << 4
+                    && this.y1 < (sectionY << 4) + 16 && this.y2 > sectionY << 4
+                    && this.z1 < (sectionZ << 4) + 16 && this.z2 > sectionZ << 4;
+        }
+
+        boolean containsSection(int sectionX, int sectionY, int sectionZ) {
+            return this.x1 <= sectionX << 4 && this.x2 >= (sectionX << 4) + 16
+                    && this.y1 <= sectionY << 4 && this.y2 >= (sectionY << 4) + 16
+                    && this.z1 <= sectionZ << 4 && this.z2 >= (sectionZ << 4) + 16;
+        }
+
+        boolean coversColumn(int chunkX, int chunkZ) {
+            return this.x1 <= chunkX << 4 && this.x2 >= (chunkX << 4) + 16 && this.z1 <= chunkZ << 4 && this.z2 >= (chunkZ << 4) + 16;
+        }
+
+        int minChunkX() {
+            return this.x1 >> 4;
+        }
+
+        int minChunkZ() {
+            return this.z1 >> 4;
+        }
+
+        int maxChunkX() {
+            return (this.x2 - 1) >> 4;
+        }
+
+        int maxChunkZ() {
+            return (this.z2 - 1) >> 4;
+        }
+
+        long sectionMask() {
+            int lowest = Math.max((this.y1 >> 4) - MASK_BOTTOM_SECTION, 0);
+            int highest = Math.min(((this.y2 - 1) >> 4) - MASK_BOTTOM_SECTION, 63);
+
+            if (lowest > highest) {
+                return 0;
+            }
+
+            return (-1L >>> (63 - highest)) & (-1L << lowest);
+        }
+    }
+
+    private static final class Bucket {
+        private final Entry[] entries;
+        /**
+         * True if every claim in this bucket covers the whole chunk column on X/Z axis (which is always the case for
+         * chunk bound claims), meaning only height needs to be checked.
+         */
+        private final boolean coversColumns;
+        /**
+         * Bit set for every chunk section (counted from {@link #MASK_BOTTOM_SECTION}) any claim in this bucket intersects,
+         * which lets checks in unclaimed parts of claimed chunks (like deep caves under height limited claims) skip the entries.
+         */
+        private final long sections;
+
+        private Bucket(Entry[] entries, int chunkX, int chunkZ) {
+            this.entries = entries;
+            var covers = true;
+            var sections = 0L;
+            for (var entry : entries) {
+                if (covers && !entry.coversColumn(chunkX, chunkZ)) {
+                    covers = false;
+                }
+                sections |= entry.sectionMask();
+            }
+            this.coversColumns = covers;
+            this.sections = sections;
+        }
+
+        private boolean mayContain(int y) {
+            int section = (y >> 4) - MASK_BOTTOM_SECTION;
+            return section < 0 || section > 63 || (this.sections & (1L << section)) != 0;
+        }
+    }
+}
@@ -1,12 +1,135 @@
 package draylar.goml.cca;
 
+import com.jamieswhiteshirt.rtree3i.Box;
+import com.jamieswhiteshirt.rtree3i.Entry;
 import com.jamieswhiteshirt.rtree3i.RTreeMap;
+import com.jamieswhiteshirt.rtree3i.Selection;
 import org.ladysnake.cca.api.v3.component.ComponentV3;
 import draylar.goml.api.Claim;
 import draylar.goml.api.ClaimBox;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.UUID;
 
 public interface ClaimComponent extends ComponentV3 {
+    /**
+     * Returns the tree of loaded claims. Claims of regions that weren't needed yet aren't included,
+     * see {@link #loadRegionsIn(Box)} and {@link #loadAllRegions()}.
+     */
     RTreeMap<ClaimBox, Claim> getClaims();
+
+    /**
+     * Returns number of all claims in this world, including ones that aren't loaded yet.
+     */
+    int getClaimCount();
+
+    /**
+     * Loads claims of all regions with claims intersecting given box.
+     * <p>Does nothing when called outside of server thread.
+     */
+    void loadRegionsIn(Box box);
+
+    /**
+     * Loads claims of every region in this world. Use it only for operations that really need all claims.
+     * <p>Does nothing when called outside of server thread.
+     */
+    void loadAllRegions();
+
+    /**
+     * Loads claims intersecting a chunk, then counts it as loaded by every claim covering it.
+     */
+    void onChunkLoad(ChunkPos pos);
+
+    /**
+     * Counts a chunk as unloaded by every claim covering it.
+     */
+    void onChunkUnload(ChunkPos pos);
+
+    /**
+     * Returns number of loaded chunks within given chunk coordinates (all inclusive), not counting the skipped one.
+     */
+    int countLoadedChunks(int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ, @Nullable ChunkPos skip);
+
+    /**
+     * Returns current immutable snapshot of claims, which is safe to use from any thread.
+     */
+    ClaimSnapshot getSnapshot();
+
+    /**
+     * Returns the epoch of current snapshot, which is incremented on every claim addition or removal.
+     */
+    default long getEpoch() {
+        return this.getSnapshot().epoch();
+    }
+
     void add(Claim info);
     void remove(Claim info);
+
+    /**
+     * Replaces all claims in this world with given ones, building claim tree and other indexes in a single pass.
+     * <p>Unlike adding claims one by one, this publishes a single snapshot and creates every chunk bucket only once,
+     * so it's used when loading claims. The claim tree itself is still filled one claim at a time.
+     */
+    void rebuild(Collection<Claim> claims);
+
+    /**
+     * Checks if any claim contains given block position, without walking the claim tree.
+     * <p>Claims of regions that weren't loaded yet are loaded first. When called outside of server thread, this falls back
+     * to the current snapshot, which only has claims that are loaded already.
+     */
+    boolean hasClaimAt(int x, int y, int z);
+
+    /**
+     * Checks if any claim intersects given 16x16x16 chunk section, which allows skipping whole sections of unclaimed blocks.
+     * <p>Claims of regions that weren't loaded yet are loaded first. When called outside of server thread, this falls back
+     * to the current snapshot, which only has claims that are loaded already.
+     */
+    boolean isSectionClaimed(int sectionX, int sectionY, int sectionZ);
+
+    /**
+     * Adds all claims containing given block position to the collection, without walking the claim tree.
+     * <p>Claims of regions that weren't loaded yet are loaded first. When called outside of server thread, this falls back
+     * to the current snapshot, which only has claims that are loaded already.
+     */
+    void getClaimsAt(int x, int y, int z, Collection<Claim> out);
+
+    /**
+     * Checks if fluid can flow from one block to another, which is the case if destination is either unclaimed
+     * or shares a claim with the source. Results for chunk sections fully inside (or outside) claims are cached until claims change.
+     */
+    boolean canFluidFlow(int fromX, int fromY, int fromZ, int toX, int toY, int toZ);
+
+    /**
+     * Runs ticking augments of claims that are due this tick. Called at the end of every world tick.
+     */
+    void tickAugments();
+
+    /**
+     * Lets augments of claims know about players entering and leaving them. Called at the end of every world tick.
+     */
+    void tickPlayers();
+
+    /**
+     * Returns claim with anchor at given position, if there is one. Its region is loaded first, if it wasn't yet.
+     */
+    @Nullable
+    Claim getClaimWithOrigin(BlockPos origin);
+
+    /**
+     * Returns all claims owned by given player, without scanning every claim.
+     */
+    Selection<Entry<ClaimBox, Claim>> getClaimsOwnedBy(UUID uuid);
+
+    /**
+     * Returns all claims in which given player is directly trusted, without scanning every claim.
+     */
+    Selection<Entry<ClaimBox, Claim>> getClaimsTrusted(UUID uuid);
+
+    /**
+     * Returns all claims given player has permission in, including ones trusting player's groups.
+     */
+    Selection<Entry<ClaimBox, Claim>> getClaimsWithAccess(UUID uuid);
 }
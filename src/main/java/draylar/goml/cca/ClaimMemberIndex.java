@@ -0,0 +1,149 @@
+package draylar.goml.cca;
+
+import com.jamieswhiteshirt.rtree3i.Configuration;
+import com.jamieswhiteshirt.rtree3i.ConfigurationBuilder;
+import com.jamieswhiteshirt.rtree3i.Entry;
+import com.jamieswhiteshirt.rtree3i.RTreeMap;
+import com.jamieswhiteshirt.rtree3i.Selection;
+import draylar.goml.api.Claim;
+import draylar.goml.api.ClaimBox;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Secondary claim index, mapping owners and trusted players to their claims.
+ *
+ * <p>Claims added to {@link WorldClaimComponent} keep a reference to it, so changes made through
+ * {@link Claim#addOwner(UUID)}, {@link Claim#trust(UUID)} and similar are applied here directly.
+ * Claims of every player are stored as a small claim tree, so lookups can still return a {@link Selection}.
+ */
+@ApiStatus.Internal
+public final class ClaimMemberIndex {
+    private static final Configuration CONFIGURATION = new ConfigurationBuilder().star().build();
+    private static final RTreeMap<ClaimBox, Claim> EMPTY = RTreeMap.create(CONFIGURATION, ClaimBox::toBox);
+
+    private final Map<UUID, RTreeMap<ClaimBox, Claim>> owners = new HashMap<>();
+    private final Map<UUID, RTreeMap<ClaimBox, Claim>> trusted = new HashMap<>();
+    /**
+     * Claims trusting any player group. Group membership is owned by group providers, so these are checked one by one.
+     */
+    private final Set<Claim> groupTrusted = new ReferenceLinkedOpenHashSet<>();
+
+    public void add(Claim claim) {
+        claim.internal_setMemberIndex(this);
+
+        for (var uuid : claim.getOwners()) {
+            put(this.owners, uuid, claim);
+        }
+
+        for (var uuid : claim.getTrusted()) {
+            put(this.trusted, uuid, claim);
+        }
+
+        this.updateGroups(claim);
+    }
+
+    public void remove(Claim claim) {
+        claim.internal_setMemberIndex(null);
+
+        for (var uuid : claim.getOwners()) {
+            remove(this.owners, uuid, claim);
+        }
+
+        for (var uuid : claim.getTrusted()) {
+            remove(this.trusted, uuid, claim);
+        }
+
+        this.groupTrusted.remove(claim);
+    }
+
+    public void clear() {
+        this.owners.clear();
+        this.trusted.clear();
+        this.groupTrusted.clear();
+    }
+
+    public void addOwner(Claim claim, UUID uuid) {
+        put(this.owners, uuid, claim);
+    }
+
+    public void removeOwner(Claim claim, UUID uuid) {
+        remove(this.owners, uuid, claim);
+    }
+
+    public void addTrusted(Claim claim, UUID uuid) {
+        put(this.trusted, uuid, claim);
+    }
+
+    public void removeTrusted(Claim claim, UUID uuid) {
+        remove(this.trusted, uuid, claim);
+    }
+
+    public void updateGroups(Claim claim) {
+        if (claim.hasTrustedGroups()) {
+            this.groupTrusted.add(claim);
+        } else {
+            this.groupTrusted.remove(claim);
+        }
+    }
+
+    public Selection<Entry<ClaimBox, Claim>> getClaimsOwnedBy(UUID uuid) {
+        return this.owners.getOrDefault(uuid, EMPTY).entries();
+    }
+
+    public Selection<Entry<ClaimBox, Claim>> getClaimsTrusted(UUID uuid) {
+        return this.trusted.getOrDefault(uuid, EMPTY).entries();
+    }
+
+    public Selection<Entry<ClaimBox, Claim>> getClaimsWithAccess(UUID uuid) {
+        var owned = this.owners.getOrDefault(uuid, EMPTY);
+        var trusted = this.trusted.get(uuid);
+
+        if (trusted == null && this.groupTrusted.isEmpty()) {
+            return owned.entries();
+        }
+
+        var claims = new ArrayList<Claim>();
+        if (trusted != null) {
+            trusted.values().forEach(claims::add);
+        }
+
+        for (var claim : this.groupTrusted) {
+            if (claim.hasPermission(uuid)) {
+                claims.add(claim);
+            }
+        }
+
+        var tree = owned;
+        for (var claim : claims) {
+            tree = tree.put(claim.getClaimBox(), claim);
+        }
+        return tree.entries();
+    }
+
+    private static void put(Map<UUID, RTreeMap<ClaimBox, Claim>> map, UUID uuid, Claim claim) {
+        map.put(uuid, map.getOrDefault(uuid, EMPTY).put(claim.getClaimBox(), claim));
+    }
+
+    private static void remove(Map<UUID, RTreeMap<ClaimBox, Claim>> map, UUID uuid, Claim claim) {
+        var claims = map.get(uuid);
+
+        if (claims == null) {
+            return;
+        }
+
+        claims = claims.remove(claim.getClaimBox());
+
+        if (claims.size() == 0) {
+            map.remove(uuid);
+        } else {
+            map.put(uuid, claims);
+        }
+    }
+}
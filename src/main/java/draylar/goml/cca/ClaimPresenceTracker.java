@@ -0,0 +1,87 @@
+package draylar.goml.cca;
+
+import draylar.goml.api.Claim;
+import draylar.goml.api.ClaimList;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMaps;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.MathHelper;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * Keeps track of claims each player of a world is in, so augments only hear about players entering or leaving their claims.
+ *
+ * <p>Every tick, claims around each player are looked up in the chunk index and compared with claims the player was in last tick.
+ * This only depends on number of players, unlike scanning all players for every claim.
+ */
+@ApiStatus.Internal
+public final class ClaimPresenceTracker {
+    private final Reference2ObjectOpenHashMap<ServerPlayerEntity, Presence> players = new Reference2ObjectOpenHashMap<>();
+    private final ReferenceOpenHashSet<Claim> current = new ReferenceOpenHashSet<>();
+    private long tick;
+
+    public void tick(ServerWorld world, ChunkClaimIndex index) {
+        var tick = ++this.tick;
+
+        try (var found = ClaimList.acquire()) {
+            for (var player : world.getPlayers()) {
+                var box = player.getBoundingBox();
+                found.clear();
+                // Claim boxes used for presence extend a block further than block queries, so this looks a bit wider
+                index.getClaimsTouching(MathHelper.floor(box.minX) - 1, MathHelper.floor(box.minY) - 1, MathHelper.floor(box.minZ) - 1,
+                        MathHelper.floor(box.maxX) + 1, MathHelper.floor(box.maxY) + 1, MathHelper.floor(box.maxZ) + 1, found);
+
+                var presence = this.players.get(player);
+                if (presence == null) {
+                    if (found.isEmpty()) {
+                        continue;
+                    }
+                    presence = new Presence();
+                    this.players.put(player, presence);
+                }
+                presence.tick = tick;
+
+                this.current.clear();
+                for (var claim : found) {
+                    if (claim.getClaimBox().minecraftBox().intersects(box)) {
+                        this.current.add(claim);
+                        claim.internal_onPlayerInside(world, player);
+                    }
+                }
+
+                for (var claim : presence.claims) {
+                    if (!this.current.contains(claim)) {
+                        claim.internal_onPlayerExit(world, player);
+                    }
+                }
+
+                presence.claims.clear();
+                presence.claims.addAll(this.current);
+            }
+        }
+
+        // Players that left this world since last tick
+        var iterator = Reference2ObjectMaps.fastIterator(this.players);
+        while (iterator.hasNext()) {
+            var entry = iterator.next();
+            var presence = entry.getValue();
+
+            if (presence.tick != tick || presence.claims.isEmpty()) {
+                if (presence.tick != tick) {
+                    for (var claim : presence.claims) {
+                        claim.internal_onPlayerExit(world, entry.getKey());
+                    }
+                }
+                iterator.remove();
+            }
+        }
+        this.current.clear();
+    }
+
+    private static final class Presence {
+        private final ReferenceOpenHashSet<Claim> claims = new ReferenceOpenHashSet<>();
+        private long tick;
+    }
+}
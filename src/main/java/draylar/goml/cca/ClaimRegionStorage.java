@@ -0,0 +1,119 @@
+package draylar.goml.cca;
+
+import draylar.goml.api.Claim;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtList;
+import net.minecraft.nbt.NbtSizeTracker;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.storage.NbtReadView;
+import net.minecraft.storage.ReadView;
+import net.minecraft.util.ErrorReporter;
+import net.minecraft.util.WorldSavePath;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.dimension.DimensionType;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Files with claims of a single region each (see {@link DormantClaimRegions}), stored next to other data of their dimension.
+ * Every file holds claims in the same form as version 1 of {@link WorldClaimComponent} data did.
+ */
+@ApiStatus.Internal
+public final class ClaimRegionStorage {
+    private final Path directory;
+
+    public ClaimRegionStorage(Path directory) {
+        this.directory = directory;
+    }
+
+    public static ClaimRegionStorage of(ServerWorld world) {
+        var root = world.getServer().getSavePath(WorldSavePath.ROOT);
+        return new ClaimRegionStorage(DimensionType.getSaveDirectory(world.getRegistryKey(), root).resolve("goml_claims"));
+    }
+
+    /**
+     * @return serialized claims of given region, or an empty list if it has no file
+     */
+    public List<NbtCompound> read(long region) throws IOException {
+        var path = this.getPath(region);
+        if (!Files.exists(path)) {
+            return List.of();
+        }
+
+        var claims = new ArrayList<NbtCompound>();
+        for (var element : NbtIo.readCompressed(path, NbtSizeTracker.ofUnlimitedBytes()).getListOrEmpty("Claims")) {
+            if (element instanceof NbtCompound compound) {
+                claims.add(compound);
+            }
+        }
+        return claims;
+    }
+
+    /**
+     * Replaces claims of given region, removing its file if there are none left.
+     */
+    public void write(long region, List<NbtCompound> claims) throws IOException {
+        var path = this.getPath(region);
+        if (claims.isEmpty()) {
+            Files.deleteIfExists(path);
+            return;
+        }
+
+        var list = new NbtList();
+        list.addAll(claims);
+        var nbt = new NbtCompound();
+        nbt.put("Claims", list);
+
+        // Written next to the old file first, so a crash in the middle of saving doesn't leave a broken region behind
+        Files.createDirectories(this.directory);
+        var temp = Files.createTempFile(this.directory, path.getFileName().toString(), ".tmp");
+        try {
+            NbtIo.writeCompressed(nbt, temp);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Moves claims of version 1 data into region files.
+     *
+     * @return summaries of written regions, keyed by region
+     */
+    public Long2ObjectMap<DormantClaimRegions.Summary> migrate(List<NbtCompound> claims, RegistryWrapper.WrapperLookup registries) throws IOException {
+        var regions = new Long2ObjectOpenHashMap<List<NbtCompound>>();
+        for (var nbt : claims) {
+            var origin = BlockPos.fromLong(nbt.getLong(Claim.POSITION_KEY, 0));
+            regions.computeIfAbsent(DormantClaimRegions.getRegionKey(origin), x -> new ArrayList<>()).add(nbt);
+        }
+
+        var summaries = new Long2ObjectOpenHashMap<DormantClaimRegions.Summary>(regions.size());
+        for (var entry : Long2ObjectMaps.fastIterable(regions)) {
+            this.write(entry.getLongKey(), entry.getValue());
+
+            var views = new ArrayList<ReadView>(entry.getValue().size());
+            for (var nbt : entry.getValue()) {
+                views.add(NbtReadView.create(ErrorReporter.EMPTY, registries, nbt));
+            }
+            summaries.put(entry.getLongKey(), DormantClaimRegions.Summary.ofSerialized(views));
+        }
+
+        return summaries;
+    }
+
+    private Path getPath(long region) {
+        return this.directory.resolve("r." + ChunkPos.getPackedX(region) + "." + ChunkPos.getPackedZ(region) + ".dat");
+    }
+}
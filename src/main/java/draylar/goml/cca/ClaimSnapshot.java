@@ -0,0 +1,32 @@
+package draylar.goml.cca;
+
+import com.jamieswhiteshirt.rtree3i.Box;
+import com.jamieswhiteshirt.rtree3i.RTreeMap;
+import draylar.goml.api.Claim;
+import draylar.goml.api.ClaimBox;
+
+import java.util.Collection;
+
+/**
+ * Immutable view of all claims in a world, which can be safely read from any thread.
+ *
+ * <p>A new snapshot is published on every claim addition or removal, with an incremented epoch.
+ * Comparing epochs is enough to know if anything computed from an older snapshot is still valid.
+ * Keep in mind that this only covers placement of claims, not their (mutable) owners, trusted players or augments.
+ *
+ * @param epoch  number of changes made to claims of this world, since it was loaded
+ * @param claims claim tree at that point
+ */
+public record ClaimSnapshot(long epoch, RTreeMap<ClaimBox, Claim> claims) {
+    public boolean hasClaimAt(int x, int y, int z) {
+        return this.claims.entries(box -> contains(box, x, y, z)).isNotEmpty();
+    }
+
+    public void getClaimsAt(int x, int y, int z, Collection<Claim> out) {
+        this.claims.entries(box -> contains(box, x, y, z)).forEach(entry -> out.add(entry.getValue()));
+    }
+
+    private static boolean contains(Box box, int x, int y, int z) {
+        return x >= box.x1() && x < box.x2() && y >= box.y1() && y < box.y2() && z >= box.z1() && z < box.z2();
+    }
+}
@@ -0,0 +1,241 @@
+package draylar.goml.cca;
+
+import com.jamieswhiteshirt.rtree3i.Box;
+import com.jamieswhiteshirt.rtree3i.Configuration;
+import com.jamieswhiteshirt.rtree3i.ConfigurationBuilder;
+import com.jamieswhiteshirt.rtree3i.RTreeMap;
+import com.mojang.serialization.Codec;
+import draylar.goml.api.Claim;
+import draylar.goml.api.ClaimBox;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.storage.ReadView;
+import net.minecraft.storage.WriteView;
+import net.minecraft.util.Uuids;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Regions of claims that weren't needed since their world was loaded.
+ *
+ * <p>Claims are grouped into regions of 512x512 blocks, based on their origin, and every region is stored in its own
+ * file (see {@link ClaimRegionStorage}). Only a summary of every region is kept in memory: boxes of its claims and players
+ * they belong to. That's enough to tell which regions need to be read for a given area or player, without keeping
+ * any of the serialized claims around.
+ */
+@ApiStatus.Internal
+public final class DormantClaimRegions {
+    public static final int REGION_SHIFT = 9;
+    private static final Configuration CONFIGURATION = new ConfigurationBuilder().star().build();
+
+    private final Long2ObjectOpenHashMap<Summary> regions = new Long2ObjectOpenHashMap<>();
+    private final Map<UUID, LongSet> owners = new HashMap<>();
+    private final Map<UUID, LongSet> trusted = new HashMap<>();
+    private final LongSet groupTrusted = new LongOpenHashSet();
+    private RTreeMap<ClaimBox, Long> boxes = RTreeMap.create(CONFIGURATION, ClaimBox::toBox);
+    private int size;
+
+    public static long getRegionKey(BlockPos origin) {
+        return ChunkPos.toLong(origin.getX() >> REGION_SHIFT, origin.getZ() >> REGION_SHIFT);
+    }
+
+    /**
+     * Adds a region, replacing previous summary of it.
+     */
+    public void add(long region, Summary summary) {
+        this.take(region);
+
+        for (var uuid : summary.owners()) {
+            this.owners.computeIfAbsent(uuid, x -> new LongOpenHashSet()).add(region);
+        }
+
+        for (var uuid : summary.trusted()) {
+            this.trusted.computeIfAbsent(uuid, x -> new LongOpenHashSet()).add(region);
+        }
+
+        if (summary.trustsGroups()) {
+            this.groupTrusted.add(region);
+        }
+
+        for (var box : summary.boxes()) {
+            // Empty boxes can't be found by any area anyway
+            if (box != ClaimBox.EMPTY) {
+                this.boxes = this.boxes.put(box, region);
+            }
+        }
+
+        this.regions.put(region, summary);
+        this.size += summary.boxes().size();
+    }
+
+    public boolean isEmpty() {
+        return this.regions.isEmpty();
+    }
+
+    public boolean contains(long region) {
+        return this.regions.containsKey(region);
+    }
+
+    /**
+     * @return number of dormant claims
+     */
+    public int size() {
+        return this.size;
+    }
+
+    public void getRegionsIn(Box box, LongSet out) {
+        this.boxes.entries(claimBox -> claimBox.intersectsClosed(box)).forEach(entry -> out.add((long) entry.getValue()));
+    }
+
+    /**
+     * Collects regions with claims owned by or trusting given player.
+     *
+     * @param withGroups whether regions with claims trusting any player group should be included too
+     */
+    public void getRegionsOf(UUID uuid, boolean owned, boolean trusted, boolean withGroups, LongSet out) {
+        if (owned) {
+            out.addAll(this.owners.getOrDefault(uuid, LongSet.of()));
+        }
+
+        if (trusted) {
+            out.addAll(this.trusted.getOrDefault(uuid, LongSet.of()));
+        }
+
+        if (withGroups) {
+            out.addAll(this.groupTrusted);
+        }
+    }
+
+    public LongSet getRegions() {
+        return this.regions.keySet();
+    }
+
+    @Nullable
+    public Summary getSummary(long region) {
+        return this.regions.get(region);
+    }
+
+    /**
+     * Removes region with its summary, once its claims were read and added to the claim index.
+     *
+     * @return summary of this region, or null if it isn't dormant
+     */
+    @Nullable
+    public Summary take(long region) {
+        var summary = this.regions.remove(region);
+        if (summary == null) {
+            return null;
+        }
+
+        for (var box : summary.boxes()) {
+            this.boxes = this.boxes.remove(box);
+        }
+        for (var uuid : summary.owners()) {
+            removeRegion(this.owners, uuid, region);
+        }
+        for (var uuid : summary.trusted()) {
+            removeRegion(this.trusted, uuid, region);
+        }
+
+        this.groupTrusted.remove(region);
+        this.size -= summary.boxes().size();
+        return summary;
+    }
+
+    public void clear() {
+        this.regions.clear();
+        this.owners.clear();
+        this.trusted.clear();
+        this.groupTrusted.clear();
+        this.boxes = RTreeMap.create(CONFIGURATION, ClaimBox::toBox);
+        this.size = 0;
+    }
+
+    private static void removeRegion(Map<UUID, LongSet> map, UUID uuid, long region) {
+        var regions = map.get(uuid);
+        if (regions != null && regions.remove(region) && regions.isEmpty()) {
+            map.remove(uuid);
+        }
+    }
+
+    /**
+     * Summary of claims in a region. Players are kept for the whole region rather than per claim,
+     * as they are only used to find regions that need to be loaded for them.
+     */
+    public record Summary(List<ClaimBox> boxes, Set<UUID> owners, Set<UUID> trusted, boolean trustsGroups) {
+        public static Summary of(Collection<Claim> claims) {
+            var boxes = new ArrayList<ClaimBox>(claims.size());
+            var owners = new HashSet<UUID>();
+            var trusted = new HashSet<UUID>();
+            var trustsGroups = false;
+
+            for (var claim : claims) {
+                boxes.add(claim.getClaimBox());
+                owners.addAll(claim.getOwners());
+                trusted.addAll(claim.getTrusted());
+                trustsGroups |= claim.hasTrustedGroups();
+            }
+
+            return new Summary(boxes, owners, trusted, trustsGroups);
+        }
+
+        /**
+         * Summarizes claims written by {@link Claim#writeData(WriteView)}, without decoding the rest of them.
+         */
+        public static Summary ofSerialized(Collection<? extends ReadView> claims) {
+            var boxes = new ArrayList<ClaimBox>(claims.size());
+            var owners = new HashSet<UUID>();
+            var trusted = new HashSet<UUID>();
+            var trustsGroups = false;
+
+            for (var view : claims) {
+                boxes.add(Claim.readClaimBox(view));
+                view.getTypedListView(Claim.OWNERS_KEY, Uuids.INT_STREAM_CODEC).forEach(owners::add);
+                view.getTypedListView(Claim.TRUSTED_KEY, Uuids.INT_STREAM_CODEC).forEach(trusted::add);
+                trustsGroups |= view.getTypedListView(Claim.TRUSTED_GROUP_KEY, Codec.STRING).iterator().hasNext();
+            }
+
+            return new Summary(boxes, owners, trusted, trustsGroups);
+        }
+
+        public static Summary read(ReadView view) {
+            var boxes = new ArrayList<ClaimBox>();
+            for (var box : view.getListReadView("Boxes")) {
+                boxes.add(ClaimBox.readData(box, 0));
+            }
+
+            var owners = new HashSet<UUID>();
+            view.getTypedListView("Owners", Uuids.INT_STREAM_CODEC).forEach(owners::add);
+            var trusted = new HashSet<UUID>();
+            view.getTypedListView("Trusted", Uuids.INT_STREAM_CODEC).forEach(trusted::add);
+
+            return new Summary(boxes, owners, trusted, view.getBoolean("TrustsGroups", false));
+        }
+
+        public void write(WriteView view) {
+            var boxes = view.getList("Boxes");
+            for (var box : this.boxes) {
+                box.writeData(boxes.add());
+            }
+
+            var owners = view.getListAppender("Owners", Uuids.INT_STREAM_CODEC);
+            this.owners.forEach(owners::add);
+            var trusted = view.getListAppender("Trusted", Uuids.INT_STREAM_CODEC);
+            this.trusted.forEach(trusted::add);
+
+            view.putBoolean("TrustsGroups", this.trustsGroups);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package draylar.goml.cca;
+
+import draylar.goml.api.Claim;
+import draylar.goml.api.ClaimList;
+import it.unimi.dsi.fastutil.longs.Long2ByteOpenHashMap;
+import net.minecraft.util.math.ChunkSectionPos;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * Fluid flow decisions for whole chunk sections, valid for a single claim epoch.
+ *
+ * <p>A section is uniform when every claim intersecting it contains all of it, so every block in it is in the same claims.
+ * Flow within a uniform section is always allowed, and flow between two uniform sections has the same result for every block,
+ * so it's computed once. Anything involving sections only partially covered by claims is left to per block checks.
+ */
+@ApiStatus.Internal
+public final class FluidFlowCache {
+    public static final byte UNKNOWN = 0;
+    public static final byte ALLOW = 1;
+    public static final byte DENY = 2;
+    public static final byte NOT_UNIFORM = 3;
+    /**
+     * Caches are dropped once any of them gets this big, as fluids tend to stay in the same few areas anyway.
+     */
+    private static final int MAX_SIZE = 1 << 16;
+
+    private final Long2ByteOpenHashMap sections = new Long2ByteOpenHashMap();
+    /**
+     * Decisions for flow from a section, indexed by direction of destination section.
+     */
+    private final Long2ByteOpenHashMap[] crossings = new Long2ByteOpenHashMap[6];
+    private long epoch = -1;
+
+    public FluidFlowCache() {
+        for (int i = 0; i < this.crossings.length; i++) {
+            this.crossings[i] = new Long2ByteOpenHashMap();
+        }
+    }
+
+    /**
+     * Decides if fluid can flow between two sections (or within one), if it's the same for all of their blocks.
+     *
+     * @return {@link #ALLOW}, {@link #DENY} or {@link #NOT_UNIFORM}
+     */
+    public byte get(ChunkClaimIndex index, long epoch, int fromSectionX, int fromSectionY, int fromSectionZ, int toSectionX, int toSectionY, int toSectionZ) {
+        if (this.epoch != epoch) {
+            this.clear();
+            this.epoch = epoch;
+        }
+
+        var from = ChunkSectionPos.asLong(fromSectionX, fromSectionY, fromSectionZ);
+
+        if (fromSectionX == toSectionX && fromSectionY == toSectionY && fromSectionZ == toSectionZ) {
+            var value = this.sections.get(from);
+            if (value == UNKNOWN) {
+                try (var claims = ClaimList.acquire()) {
+                    value = index.getUniformSectionClaims(fromSectionX, fromSectionY, fromSectionZ, claims) ? ALLOW : NOT_UNIFORM;
+                }
+                this.put(this.sections, from, value);
+            }
+            return value;
+        }
+
+        var direction = directionIndex(toSectionX - fromSectionX, toSectionY - fromSectionY, toSectionZ - fromSectionZ);
+        if (direction == -1) {
+            return NOT_UNIFORM;
+        }
+
+        var map = this.crossings[direction];
+        var value = map.get(from);
+        if (value == UNKNOWN) {
+            try (var claimsFrom = ClaimList.acquire(); var claimsTo = ClaimList.acquire()) {
+                if (!index.getUniformSectionClaims(toSectionX, toSectionY, toSectionZ, claimsTo) || (claimsTo.isNotEmpty() && !index.getUniformSectionClaims(fromSectionX, fromSectionY, fromSectionZ, claimsFrom))) {
+                    value = NOT_UNIFORM;
+                } else {
+                    value = claimsTo.isEmpty() || anyShared(claimsFrom, claimsTo) ? ALLOW : DENY;
+                }
+            }
+            this.put(map, from, value);
+        }
+        return value;
+    }
+
+    public static boolean anyShared(ClaimList first, ClaimList second) {
+        for (Claim claim : first) {
+            if (second.contains(claim)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void put(Long2ByteOpenHashMap map, long key, byte value) {
+        if (map.size() >= MAX_SIZE) {
+            map.clear();
+        }
+        map.put(key, value);
+    }
+
+    private void clear() {
+        this.sections.clear();
+        for (var map : this.crossings) {
+            map.clear();
+        }
+    }
+
+    private static int directionIndex(int x, int y, int z) {
+        if (Math.abs(x) + Math.abs(y) + Math.abs(z) != 1) {
+            return -1;
+        }
+        return x != 0 ? (x > 0 ? 0 : 1) : y != 0 ? (y > 0 ? 2 : 3) : (z > 0 ? 4 : 5);
+    }
+}
@@ -1,45 +1,497 @@
 package draylar.goml.cca;
 
+import com.jamieswhiteshirt.rtree3i.Box;
 import com.jamieswhiteshirt.rtree3i.ConfigurationBuilder;
+import com.jamieswhiteshirt.rtree3i.Entry;
 import com.jamieswhiteshirt.rtree3i.RTreeMap;
+import com.jamieswhiteshirt.rtree3i.Selection;
+import draylar.goml.GetOffMyLawn;
 import draylar.goml.api.Claim;
 import draylar.goml.api.ClaimBox;
+import draylar.goml.api.ClaimList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.nbt.NbtCompound;
 import net.minecraft.server.world.ServerWorld;
+import net.minecraft.storage.NbtReadView;
+import net.minecraft.storage.NbtWriteView;
 import net.minecraft.storage.ReadView;
 import net.minecraft.storage.WriteView;
+import net.minecraft.util.ErrorReporter;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
 
-public class WorldClaimComponent implements ClaimComponent {
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
 
-    private RTreeMap<ClaimBox, Claim> claims = RTreeMap.create(new ConfigurationBuilder().star().build(), ClaimBox::toBox);
+public class WorldClaimComponent implements ClaimComponent {
+    private volatile ClaimSnapshot snapshot = new ClaimSnapshot(0, RTreeMap.create(new ConfigurationBuilder().star().build(), ClaimBox::toBox));
+    private final ChunkClaimIndex chunkIndex = new ChunkClaimIndex();
+    private final ClaimMemberIndex memberIndex = new ClaimMemberIndex();
+    private final Long2ObjectOpenHashMap<Claim> claimsByOrigin = new Long2ObjectOpenHashMap<>();
+    private final DormantClaimRegions dormantRegions = new DormantClaimRegions();
+    /**
+     * Regions with a file in {@link ClaimRegionStorage}, so files of regions without claims left can be removed on save.
+     */
+    private final LongOpenHashSet storedRegions = new LongOpenHashSet();
+    /**
+     * Regions with claims that changed since their file was last written, so saving only needs to rewrite those.
+     */
+    private final LongOpenHashSet dirtyRegions = new LongOpenHashSet();
+    private final Consumer<Claim> dirtyListener = this::markDirty;
+    @Nullable
+    private ClaimRegionStorage regionStorage;
+    private final FluidFlowCache fluidFlowCache = new FluidFlowCache();
+    private final ClaimPresenceTracker presenceTracker = new ClaimPresenceTracker();
+    private final AugmentTickScheduler tickScheduler = new AugmentTickScheduler();
+    /**
+     * Chunks loaded in this world, tracked from chunk events so claims don't need to probe chunk manager for each of their chunks.
+     */
+    private final LongOpenHashSet loadedChunks = new LongOpenHashSet();
     private final World world;
 
     public WorldClaimComponent(World world) {
         this.world = world;
     }
 
+    /**
+     * Creates a component not attached to any world, which treats every thread as its owner.
+     * Claims can only be added to it through {@link #add(Claim)} and {@link #rebuild(Collection)}, and it can't be saved.
+     * It's meant for benchmarks and tests, which can't create a world.
+     */
+    @VisibleForTesting
+    public static WorldClaimComponent createDetached() {
+        return new WorldClaimComponent(null);
+    }
+
     @Override
     public RTreeMap<ClaimBox, Claim> getClaims() {
-        return claims;
+        return this.snapshot.claims();
+    }
+
+    @Override
+    public ClaimSnapshot getSnapshot() {
+        return this.snapshot;
+    }
+
+    @Override
+    public int getClaimCount() {
+        return this.snapshot.claims().size() + this.dormantRegions.size();
     }
 
     @Override
     public void add(Claim info) {
-        this.claims = this.claims.put(info.getClaimBox(), info);
+        // Region of new claim needs to be loaded first, as regions are always saved either as a whole or not at all
+        this.loadRegion(DormantClaimRegions.getRegionKey(info.getOrigin()), null);
+        this.publish(this.snapshot.claims().put(info.getClaimBox(), info));
+        this.chunkIndex.add(info);
+        this.memberIndex.add(info);
+        this.claimsByOrigin.put(info.getOrigin().asLong(), info);
+        this.tickScheduler.scheduleAll(info);
+        info.internal_setTickScheduler(this.tickScheduler);
+        info.internal_setDirtyListener(this.dirtyListener);
+        this.markDirty(info);
     }
 
     @Override
     public void remove(Claim info) {
-        this.claims = this.claims.remove(info.getClaimBox());
+        this.publish(this.snapshot.claims().remove(info.getClaimBox()));
+        this.chunkIndex.remove(info.getClaimBox());
+        this.memberIndex.remove(info);
+        this.claimsByOrigin.remove(info.getOrigin().asLong(), info);
+        this.tickScheduler.unscheduleAll(info);
+        info.internal_setTickScheduler(null);
+        info.internal_setDirtyListener(null);
+        this.markDirty(info);
+    }
+
+    private void markDirty(Claim claim) {
+        this.dirtyRegions.add(DormantClaimRegions.getRegionKey(claim.getOrigin()));
+    }
+
+    @Override
+    public boolean hasClaimAt(int x, int y, int z) {
+        if (!this.isOnOwnerThread()) {
+            return this.snapshot.hasClaimAt(x, y, z);
+        }
+        this.loadRegionsAt(x, y, z);
+        return this.chunkIndex.hasClaimAt(x, y, z);
+    }
+
+    @Override
+    public boolean isSectionClaimed(int sectionX, int sectionY, int sectionZ) {
+        if (!this.isOnOwnerThread()) {
+            var box = Box.create(sectionX << 4, sectionY << 4, sectionZ << 4, (sectionX << 4) + 16, (sectionY << 4) + 16, (sectionZ << 4) + 16);
+            return this.snapshot.claims().entries(claimBox -> claimBox.intersectsOpen(box)).isNotEmpty();
+        }
+        if (!this.dormantRegions.isEmpty() && !this.loadedChunks.contains(ChunkPos.toLong(sectionX, sectionZ))) {
+            this.loadRegionsIn(Box.create(sectionX << 4, sectionY << 4, sectionZ << 4, (sectionX << 4) + 16, (sectionY << 4) + 16, (sectionZ << 4) + 16));
+        }
+        return this.chunkIndex.isSectionClaimed(sectionX, sectionY, sectionZ);
+    }
+
+    @Override
+    public void getClaimsAt(int x, int y, int z, Collection<Claim> out) {
+        if (!this.isOnOwnerThread()) {
+            this.snapshot.getClaimsAt(x, y, z, out);
+            return;
+        }
+        this.loadRegionsAt(x, y, z);
+        this.chunkIndex.getClaimsAt(x, y, z, out);
+    }
+
+    @Override
+    public void tickAugments() {
+        if (this.world instanceof ServerWorld serverWorld) {
+            this.tickScheduler.tick(serverWorld);
+        }
+    }
+
+    @Override
+    public void tickPlayers() {
+        if (this.world instanceof ServerWorld serverWorld) {
+            this.presenceTracker.tick(serverWorld, this.chunkIndex);
+        }
+    }
+
+    @Override
+    public boolean canFluidFlow(int fromX, int fromY, int fromZ, int toX, int toY, int toZ) {
+        if (this.isOnOwnerThread()) {
+            this.loadRegionsAt(toX, toY, toZ);
+            if (!this.chunkIndex.isSectionClaimed(toX >> 4, toY >> 4, toZ >> 4)) {
+                return true;
+            }
+
+            var decision = this.fluidFlowCache.get(this.chunkIndex, this.snapshot.epoch(), fromX >> 4, fromY >> 4, fromZ >> 4, toX >> 4, toY >> 4, toZ >> 4);
+            if (decision != FluidFlowCache.NOT_UNIFORM) {
+                return decision == FluidFlowCache.ALLOW;
+            }
+        }
+
+        try (var claimsTo = ClaimList.acquire(); var claimsFrom = ClaimList.acquire()) {
+            this.getClaimsAt(toX, toY, toZ, claimsTo);
+            if (claimsTo.isEmpty()) {
+                return true;
+            }
+            this.getClaimsAt(fromX, fromY, fromZ, claimsFrom);
+            return FluidFlowCache.anyShared(claimsFrom, claimsTo);
+        }
+    }
+
+    @Override
+    @Nullable
+    public Claim getClaimWithOrigin(BlockPos origin) {
+        if (!this.isOnOwnerThread()) {
+            var found = new ArrayList<Claim>();
+            this.snapshot.getClaimsAt(origin.getX(), origin.getY(), origin.getZ(), found);
+            for (var claim : found) {
+                if (claim.getOrigin().equals(origin)) {
+                    return claim;
+                }
+            }
+            return null;
+        }
+        this.loadRegion(DormantClaimRegions.getRegionKey(origin), null);
+        return this.claimsByOrigin.get(origin.asLong());
+    }
+
+    @Override
+    public Selection<Entry<ClaimBox, Claim>> getClaimsOwnedBy(UUID uuid) {
+        this.loadRegionsOf(uuid, true, false, false);
+        return this.memberIndex.getClaimsOwnedBy(uuid);
+    }
+
+    @Override
+    public Selection<Entry<ClaimBox, Claim>> getClaimsTrusted(UUID uuid) {
+        this.loadRegionsOf(uuid, false, true, false);
+        return this.memberIndex.getClaimsTrusted(uuid);
+    }
+
+    @Override
+    public Selection<Entry<ClaimBox, Claim>> getClaimsWithAccess(UUID uuid) {
+        this.loadRegionsOf(uuid, true, true, true);
+        return this.memberIndex.getClaimsWithAccess(uuid);
+    }
+
+    @Override
+    public void loadRegionsIn(Box box) {
+        if (this.dormantRegions.isEmpty() || !this.isOnOwnerThread()) {
+            return;
+        }
+
+        var regions = new LongOpenHashSet();
+        this.dormantRegions.getRegionsIn(box, regions);
+        this.loadRegions(regions, null);
+    }
+
+    @Override
+    public void loadAllRegions() {
+        if (this.dormantRegions.isEmpty() || !this.isOnOwnerThread()) {
+            return;
+        }
+
+        var claims = new ArrayList<Claim>(this.getClaimCount());
+        this.snapshot.claims().values().forEach(claims::add);
+        for (var region : this.dormantRegions.getRegions().toLongArray()) {
+            var nbts = this.readRegion(region);
+            if (nbts != null) {
+                for (var nbt : nbts) {
+                    claims.add(this.decode(this.createReadView(nbt), null));
+                }
+            }
+        }
+        this.rebuild(claims);
+    }
+
+    @Override
+    public void onChunkLoad(ChunkPos pos) {
+        if (!this.loadedChunks.add(pos.toLong())) {
+            return;
+        }
+
+        if (!this.dormantRegions.isEmpty()) {
+            // Closed intersection also loads claims just touching the chunk, which doesn't hurt
+            var box = Box.create(pos.getStartX(), this.world.getBottomY(), pos.getStartZ(), pos.getStartX() + 16, this.world.getTopYInclusive() + 1, pos.getStartZ() + 16);
+            var regions = new LongOpenHashSet();
+            this.dormantRegions.getRegionsIn(box, regions);
+            this.loadRegions(regions, pos);
+        }
+
+        this.chunkIndex.forEachClaimInChunk(pos.x, pos.z, Claim::internal_incrementChunks);
+    }
+
+    @Override
+    public void onChunkUnload(ChunkPos pos) {
+        if (this.loadedChunks.remove(pos.toLong())) {
+            this.chunkIndex.forEachClaimInChunk(pos.x, pos.z, Claim::internal_decrementChunks);
+        }
+    }
+
+    @Override
+    public int countLoadedChunks(int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ, @Nullable ChunkPos skip) {
+        if (minChunkX > maxChunkX || minChunkZ > maxChunkZ) {
+            return 0;
+        }
+
+        int count = 0;
+        var skipped = skip != null ? skip.toLong() : 0;
+
+        // Big claims (mostly admin ones) can cover far more chunks than are loaded, so the smaller side is iterated
+        if ((long) (maxChunkX - minChunkX + 1) * (long) (maxChunkZ - minChunkZ + 1) > this.loadedChunks.size()) {
+            var iterator = this.loadedChunks.iterator();
+            while (iterator.hasNext()) {
+                var pos = iterator.nextLong();
+                var x = ChunkPos.getPackedX(pos);
+                var z = ChunkPos.getPackedZ(pos);
+                if ((skip == null || pos != skipped) && x >= minChunkX && x <= maxChunkX && z >= minChunkZ && z <= maxChunkZ) {
+                    count++;
+                }
+            }
+        } else {
+            for (int x = minChunkX; x <= maxChunkX; x++) {
+                for (int z = minChunkZ; z <= maxChunkZ; z++) {
+                    var pos = ChunkPos.toLong(x, z);
+                    if ((skip == null || pos != skipped) && this.loadedChunks.contains(pos)) {
+                        count++;
+                    }
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Loads claims containing given block position. Claims covering loaded chunks are loaded already, so those are skipped.
+     */
+    private void loadRegionsAt(int x, int y, int z) {
+        if (this.dormantRegions.isEmpty() || this.loadedChunks.contains(ChunkPos.toLong(x >> 4, z >> 4))) {
+            return;
+        }
+
+        var regions = new LongOpenHashSet();
+        this.dormantRegions.getRegionsIn(Box.create(x, y, z, x + 1, y + 1, z + 1), regions);
+        this.loadRegions(regions, null);
+    }
+
+    private void loadRegionsOf(UUID uuid, boolean owned, boolean trusted, boolean withGroups) {
+        if (this.dormantRegions.isEmpty() || !this.isOnOwnerThread()) {
+            return;
+        }
+
+        var regions = new LongOpenHashSet();
+        this.dormantRegions.getRegionsOf(uuid, owned, trusted, withGroups, regions);
+        this.loadRegions(regions, null);
+    }
+
+    private void loadRegions(LongSet regions, @Nullable ChunkPos loading) {
+        var iterator = regions.iterator();
+        while (iterator.hasNext()) {
+            this.loadRegion(iterator.nextLong(), loading);
+        }
+    }
+
+    /**
+     * Reads claims of a dormant region and adds them to the claim index.
+     *
+     * @param loading chunk which is being loaded, as it shouldn't be counted as loaded by claims yet
+     */
+    private void loadRegion(long region, @Nullable ChunkPos loading) {
+        var claims = this.readRegion(region);
+        if (claims == null) {
+            return;
+        }
+
+        // Claims read from the file don't need to be written back, unless the region was changed before (after failing to read it)
+        var dirty = this.dirtyRegions.contains(region);
+        for (var nbt : claims) {
+            this.add(this.decode(this.createReadView(nbt), loading));
+        }
+        if (!dirty) {
+            this.dirtyRegions.remove(region);
+        }
+    }
+
+    /**
+     * Reads claims of a dormant region from its file, after which it's no longer dormant.
+     *
+     * @return serialized claims, or null if region isn't dormant or couldn't be read. Region stays dormant in the latter case,
+     * so its file is kept as it is.
+     */
+    @Nullable
+    private List<NbtCompound> readRegion(long region) {
+        if (!this.dormantRegions.contains(region)) {
+            return null;
+        }
+
+        List<NbtCompound> claims;
+        try {
+            claims = this.getRegionStorage().read(region);
+        } catch (IOException e) {
+            GetOffMyLawn.LOGGER.error(String.format("Failed to read claims of region %s, %s in %s!", ChunkPos.getPackedX(region), ChunkPos.getPackedZ(region), this.world.getRegistryKey().getValue()), e);
+            return null;
+        }
+
+        this.dormantRegions.take(region);
+        return claims;
+    }
+
+    private ClaimRegionStorage getRegionStorage() {
+        if (this.regionStorage == null) {
+            this.regionStorage = ClaimRegionStorage.of((ServerWorld) this.world);
+        }
+        return this.regionStorage;
+    }
+
+    private ReadView createReadView(NbtCompound nbt) {
+        return NbtReadView.create(ErrorReporter.EMPTY, this.world.getRegistryManager(), nbt);
+    }
+
+    private Claim decode(ReadView view, @Nullable ChunkPos loading) {
+        Claim claimInfo = Claim.readData(this.world.getServer(), view, 1);
+        claimInfo.internal_setWorld(this.world.getRegistryKey().getValue());
+        if (this.world instanceof ServerWorld serverWorld) {
+            claimInfo.internal_updateChunkCount(serverWorld, loading);
+        }
+        claimInfo.internal_enableUpdates();
+        return claimInfo;
+    }
+
+    @Override
+    public void rebuild(Collection<Claim> claims) {
+        var tree = RTreeMap.create(new ConfigurationBuilder().star().build(), ClaimBox::toBox);
+        for (var claim : claims) {
+            tree = tree.put(claim.getClaimBox(), claim);
+        }
+
+        var unique = new ArrayList<Claim>(tree.size());
+        tree.values().forEach(unique::add);
+
+        this.chunkIndex.rebuild(unique);
+        this.memberIndex.clear();
+        this.claimsByOrigin.clear();
+        this.tickScheduler.clear();
+        for (var claim : unique) {
+            this.memberIndex.add(claim);
+            this.claimsByOrigin.put(claim.getOrigin().asLong(), claim);
+            this.tickScheduler.scheduleAll(claim);
+            claim.internal_setTickScheduler(this.tickScheduler);
+            claim.internal_setDirtyListener(this.dirtyListener);
+        }
+        this.publish(tree);
+    }
+
+    private void publish(RTreeMap<ClaimBox, Claim> claims) {
+        // Only written from the server thread, so there is no need for anything stronger than a volatile write
+        this.snapshot = new ClaimSnapshot(this.snapshot.epoch() + 1, claims);
+    }
+
+    /**
+     * Chunk index is only safe to use on thread modifying claims, everything else needs to go through the snapshot.
+     */
+    private boolean isOnOwnerThread() {
+        if (this.world == null) {
+            return true;
+        }
+        var server = this.world.getServer();
+        return server == null || server.isOnThread();
     }
 
     @Override
     public void readData(ReadView view) {
-        this.claims = RTreeMap.create(new ConfigurationBuilder().star().build(), ClaimBox::rtree3iBox);
         var world = this.world.getRegistryKey().getValue();
+        var claims = new ArrayList<Claim>();
 
         var version = view.getInt("Version", 0);
+        this.dormantRegions.clear();
+        this.storedRegions.clear();
+        this.dirtyRegions.clear();
+
+        if (version >= 2) {
+            // Only summaries are read here, claims themselves are read from region files together with chunks of their region
+            for (var region : view.getListReadView("Regions")) {
+                var key = ChunkPos.toLong(region.getInt("X", 0), region.getInt("Z", 0));
+                this.dormantRegions.add(key, DormantClaimRegions.Summary.read(region));
+                this.storedRegions.add(key);
+            }
+            this.rebuild(claims);
+
+            if (!GetOffMyLawn.CONFIG.storeClaimsPerRegion) {
+                // Region files were turned off, so everything is loaded to be saved in a single list again
+                this.loadAllRegions();
+            }
+            return;
+        }
+
+        if (version == 1 && GetOffMyLawn.CONFIG.storeClaimsPerRegion && this.world instanceof ServerWorld) {
+            var nbts = new ArrayList<NbtCompound>();
+            view.getTypedListView("Claims", NbtCompound.CODEC).forEach(nbts::add);
+
+            try {
+                var summaries = this.getRegionStorage().migrate(nbts, this.world.getRegistryManager());
+                for (var entry : Long2ObjectMaps.fastIterable(summaries)) {
+                    this.dormantRegions.add(entry.getLongKey(), entry.getValue());
+                    this.storedRegions.add(entry.getLongKey());
+                }
+                this.rebuild(claims);
+                return;
+            } catch (IOException e) {
+                // Claims are read as they are, so they can be moved on next load
+                GetOffMyLawn.LOGGER.error(String.format("Failed to move claims of %s into region files!", world), e);
+                this.dormantRegions.clear();
+                this.storedRegions.clear();
+            }
+        }
+
         var nbtList = view.getListReadView("Claims");
 
         if (version == 0) {
@@ -53,27 +505,99 @@ public class WorldClaimComponent implements ClaimComponent {
                         claimInfo.internal_updateChunkCount(world1);
                     }
                     claimInfo.internal_enableUpdates();
-                    add(claimInfo);
+                    claims.add(claimInfo);
                 }
             });
         } else {
-            nbtList.forEach(child -> {
-                Claim claimInfo = Claim.readData(this.world.getServer(), child, version);
-                claimInfo.internal_setWorld(world);
-                if (this.world instanceof ServerWorld world1) {
-                    claimInfo.internal_updateChunkCount(world1);
-                }
-                claimInfo.internal_enableUpdates();
-                add(claimInfo);
-            });
+            nbtList.forEach(child -> claims.add(this.decode(child, null)));
         }
+
+        this.rebuild(claims);
     }
 
     @Override
     public void writeData(WriteView view) {
-        var nbtListClaims = view.getList("Claims");
-        view.putInt("Version", 1);
-        claims.values().forEach(claim -> claim.writeData(nbtListClaims.add()));
+        var perRegion = GetOffMyLawn.CONFIG.storeClaimsPerRegion && this.world instanceof ServerWorld;
+        if (!perRegion) {
+            this.loadAllRegions();
+        }
+
+        // Version 1 is the only format older versions can read, so it's kept unless region files are enabled.
+        // Regions that couldn't be read can only stay in their files though
+        if (!perRegion && this.dormantRegions.isEmpty()) {
+            var nbtListClaims = view.getList("Claims");
+            view.putInt("Version", 1);
+            this.snapshot.claims().values().forEach(claim -> claim.writeData(nbtListClaims.add()));
+            return;
+        }
+
+        view.putInt("Version", 2);
+        var regionList = view.getList("Regions");
+
+        var regions = new Long2ObjectOpenHashMap<List<Claim>>();
+        this.snapshot.claims().values().forEach(claim -> regions.computeIfAbsent(DormantClaimRegions.getRegionKey(claim.getOrigin()), x -> new ArrayList<>()).add(claim));
+
+        var storage = this.getRegionStorage();
+        for (var entry : Long2ObjectMaps.fastIterable(regions)) {
+            var key = entry.getLongKey();
+            if (this.dormantRegions.contains(key)) {
+                // Its file couldn't be read, so overwriting it with just the new claims would lose the old ones
+                GetOffMyLawn.LOGGER.error(String.format("Claims of region %s, %s in %s couldn't be read, so new claims there can't be saved!", ChunkPos.getPackedX(key), ChunkPos.getPackedZ(key), this.world.getRegistryKey().getValue()));
+                continue;
+            }
+
+            writeRegion(regionList.add(), key, DormantClaimRegions.Summary.of(entry.getValue()));
+            // Files are only rewritten for regions that changed since they were written
+            if (!this.dirtyRegions.contains(key) && this.storedRegions.contains(key)) {
+                continue;
+            }
+
+            var nbts = new ArrayList<NbtCompound>(entry.getValue().size());
+            for (var claim : entry.getValue()) {
+                var claimView = NbtWriteView.create(ErrorReporter.EMPTY, this.world.getRegistryManager());
+                claim.writeData(claimView);
+                nbts.add(claimView.getNbt());
+            }
+
+            try {
+                storage.write(key, nbts);
+                this.storedRegions.add(key);
+                this.dirtyRegions.remove(key);
+            } catch (IOException e) {
+                GetOffMyLawn.LOGGER.error(String.format("Failed to save claims of region %s, %s in %s!", ChunkPos.getPackedX(key), ChunkPos.getPackedZ(key), this.world.getRegistryKey().getValue()), e);
+            }
+        }
+
+        // Files of regions which lost all of their claims
+        var stored = this.storedRegions.iterator();
+        while (stored.hasNext()) {
+            var key = stored.nextLong();
+            if (!regions.containsKey(key) && !this.dormantRegions.contains(key)) {
+                try {
+                    storage.write(key, List.of());
+                    stored.remove();
+                    this.dirtyRegions.remove(key);
+                } catch (IOException e) {
+                    GetOffMyLawn.LOGGER.error(String.format("Failed to remove claims of region %s, %s in %s!", ChunkPos.getPackedX(key), ChunkPos.getPackedZ(key), this.world.getRegistryKey().getValue()), e);
+                }
+            }
+        }
+
+        // Regions without claims or a file have nothing left to write
+        this.dirtyRegions.removeIf(key -> !regions.containsKey(key) && !this.storedRegions.contains(key));
+
+        // Dormant regions keep their files as they are
+        var iterator = this.dormantRegions.getRegions().iterator();
+        while (iterator.hasNext()) {
+            var key = iterator.nextLong();
+            writeRegion(regionList.add(), key, this.dormantRegions.getSummary(key));
+        }
+    }
+
+    private static void writeRegion(WriteView view, long key, DormantClaimRegions.Summary summary) {
+        view.putInt("X", ChunkPos.getPackedX(key));
+        view.putInt("Z", ChunkPos.getPackedZ(key));
+        summary.write(view);
     }
 
     @Nullable
@@ -58,7 +58,13 @@ public abstract class WebmapCompat {
             registerIntegration(DynmapCompat.getInstance());
         }
 
+        if (INTEGRATIONS.isEmpty()) {
+            return;
+        }
+
         for (ServerWorld world : _server.getWorlds()) {
+            // Maps display every claim, so all regions need to be loaded
+            GetOffMyLawn.CLAIM.get(world).loadAllRegions();
             GetOffMyLawn.CLAIM.get(world).getClaims().values().forEach(WebmapCompat::createClaimMarker);
         }
     }
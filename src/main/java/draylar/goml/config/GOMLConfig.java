@@ -43,6 +43,10 @@ public class GOMLConfig {
     public boolean allowFakePlayersToModify = false;
     public boolean protectAgainstHostileExplosionsActivatedByTrustedPlayers = false;
     public boolean relaxedEntitySourceProtectionCheck = false;
+    public boolean enableProtectionMetrics = false;
+    public String protectionMetricsFile = "";
+    public int protectionMetricsDumpInterval = 60;
+    public boolean storeClaimsPerRegion = false;
     public Set<Identifier> dimensionBlacklist = new HashSet<>();
     public Map<Identifier, List<Box>> regionBlacklist = new HashMap<>();
 
@@ -2,6 +2,7 @@ package draylar.goml.mixin;
 
 import com.llamalad7.mixinextras.injector.ModifyExpressionValue;
 import draylar.goml.api.ClaimUtils;
+import draylar.goml.other.ProtectionMetrics;
 import net.minecraft.block.Block;
 import net.minecraft.block.ShulkerBoxBlock;
 import net.minecraft.item.BlockItem;
@@ -23,7 +24,8 @@ public class BlockItemMixin {
             return original;
         }
 
-        if (!ClaimUtils.canModify(original.getWorld(), original.getBlockPos(), original.getPlayer())) {
+        var timer = ProtectionMetrics.start(ProtectionMetrics.Site.PLACE_BLOCK);
+        if (!ProtectionMetrics.end(ProtectionMetrics.Site.PLACE_BLOCK, timer, ClaimUtils.canModify(original.getWorld(), original.getBlockPos(), original.getPlayer()))) {
             return null;
         }
 
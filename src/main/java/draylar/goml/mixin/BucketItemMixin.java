@@ -1,10 +1,7 @@
 package draylar.goml.mixin;
 
-import com.jamieswhiteshirt.rtree3i.Entry;
-import com.jamieswhiteshirt.rtree3i.Selection;
-import draylar.goml.api.ClaimBox;
-import draylar.goml.api.Claim;
 import draylar.goml.api.ClaimUtils;
+import draylar.goml.other.ProtectionMetrics;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.fluid.Fluid;
 import net.minecraft.fluid.Fluids;
@@ -49,12 +46,9 @@ public class BucketItemMixin extends Item {
         BlockHitResult blockHitResult = (BlockHitResult) hitResult;
         BlockPos blockPos = blockHitResult.getBlockPos();
 
-        Selection<Entry<ClaimBox, Claim>> claimsFound = ClaimUtils.getClaimsAt(world, blockPos);
-
-        if (!claimsFound.isEmpty()) {
-            boolean noPermission = claimsFound.anyMatch((Entry<ClaimBox, Claim> boxInfo) -> !boxInfo.getValue().hasPermission(user));
-
-            if(noPermission) {
+        var timer = ProtectionMetrics.start(ProtectionMetrics.Site.BUCKET);
+        try (var claimsFound = ClaimUtils.getClaimsAt(world, blockPos.getX(), blockPos.getY(), blockPos.getZ())) {
+            if (!ProtectionMetrics.end(ProtectionMetrics.Site.BUCKET, timer, !claimsFound.anyWithoutPermission(user))) {
                 user.sendMessage(Text.literal("This block is protected by a claim."), true);
                 cir.setReturnValue(ActionResult.FAIL);
             }
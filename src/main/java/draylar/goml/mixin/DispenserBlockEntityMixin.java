@@ -0,0 +1,24 @@
+package draylar.goml.mixin;
+
+import draylar.goml.other.ClaimVerdictHolder;
+import net.minecraft.block.entity.DispenserBlockEntity;
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+@Mixin(DispenserBlockEntity.class)
+public class DispenserBlockEntityMixin implements ClaimVerdictHolder {
+    @Unique
+    @Nullable
+    private ClaimVerdict claimVerdict;
+
+    @Override
+    public @Nullable ClaimVerdict goml$getClaimVerdict() {
+        return this.claimVerdict;
+    }
+
+    @Override
+    public void goml$setClaimVerdict(@Nullable ClaimVerdict verdict) {
+        this.claimVerdict = verdict;
+    }
+}
@@ -1,6 +1,8 @@
 package draylar.goml.mixin;
 
 import draylar.goml.api.ClaimUtils;
+import draylar.goml.other.ClaimVerdictHolder;
+import draylar.goml.other.ProtectionMetrics;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.DispenserBlock;
 import net.minecraft.block.ShulkerBoxBlock;
@@ -28,11 +30,18 @@ public class DispenserBlockMixin {
 
     @Inject(method = "scheduledTick", at = @At("HEAD"), cancellable = true)
     private void safeSetBlock(BlockState state, ServerWorld world, BlockPos pos, Random random, CallbackInfo ci) {
-        var nextPos = pos.offset(state.get(FACING));
+        var facing = state.get(FACING);
+        BlockEntity dispenserEntity = world.getBlockEntity(pos);
+
+        // Exceptions below can only allow more, so an allowing verdict skips them
+        if (dispenserEntity instanceof ClaimVerdictHolder holder && Boolean.TRUE.equals(ClaimUtils.getCachedMatchingClaims(world, holder, facing))) {
+            return;
+        }
+
+        var nextPos = pos.offset(facing);
         var targetState = world.getBlockState(nextPos);
         var targetBlock = targetState.getBlock();
 
-        BlockEntity dispenserEntity = world.getBlockEntity(pos);
         if (dispenserEntity instanceof DispenserBlockEntity dispenserBE) {
             int slot = dispenserBE.chooseNonEmptySlot(world.random);
             if (slot >= 0) {
@@ -58,7 +67,11 @@ public class DispenserBlockMixin {
             return;
         }
 
-        if (!ClaimUtils.hasMatchingClaims(world, nextPos, pos)) {
+        var timer = ProtectionMetrics.start(ProtectionMetrics.Site.DISPENSER);
+        var allowed = dispenserEntity instanceof ClaimVerdictHolder holder
+                ? ClaimUtils.hasMatchingClaims(world, nextPos, pos, holder, facing)
+                : ClaimUtils.hasMatchingClaims(world, nextPos, pos);
+        if (!ProtectionMetrics.end(ProtectionMetrics.Site.DISPENSER, timer, allowed)) {
             ci.cancel();
         }
     }
@@ -1,6 +1,7 @@
 package draylar.goml.mixin;
 
 import draylar.goml.api.ClaimUtils;
+import draylar.goml.other.ProtectionMetrics;
 import draylar.goml.other.LegacyNbtHelper;
 import draylar.goml.other.OriginOwner;
 import net.minecraft.entity.Entity;
@@ -10,6 +11,7 @@ import net.minecraft.storage.ReadView;
 import net.minecraft.storage.WriteView;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.Unique;
@@ -27,13 +29,18 @@ public abstract class EntityMixin implements OriginOwner {
     @Unique
     private BlockPos originPos;
 
+    @Unique
+    @Nullable
+    private OriginClaims originClaims;
+
     @Inject(method = "isAlwaysInvulnerableTo", at = @At("HEAD"), cancellable = true)
     private void goml$isInvulnerable(DamageSource damageSource, CallbackInfoReturnable<Boolean> cir) {
         if (this.world.isClient()) {
             return;
         }
 
-        if (!ClaimUtils.canDamageEntity(this.world, (Entity) (Object) this, damageSource)) {
+        var timer = ProtectionMetrics.start(ProtectionMetrics.Site.ENTITY_DAMAGE);
+        if (!ProtectionMetrics.end(ProtectionMetrics.Site.ENTITY_DAMAGE, timer, ClaimUtils.canDamageEntity(this.world, (Entity) (Object) this, damageSource))) {
             cir.setReturnValue(true);
         }
     }
@@ -64,4 +71,14 @@ public abstract class EntityMixin implements OriginOwner {
     public void goml$tryFilling() {
         this.originPos = this.getBlockPos();
     }
+
+    @Override
+    public @Nullable OriginClaims goml$getOriginClaims() {
+        return this.originClaims;
+    }
+
+    @Override
+    public void goml$setOriginClaims(@Nullable OriginClaims claims) {
+        this.originClaims = claims;
+    }
 }
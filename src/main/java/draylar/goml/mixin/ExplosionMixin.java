@@ -1,6 +1,7 @@
 package draylar.goml.mixin;
 
 import draylar.goml.api.ClaimUtils;
+import draylar.goml.other.ProtectionMetrics;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.LivingEntity;
@@ -29,12 +30,19 @@ public abstract class ExplosionMixin {
 
     @Inject(method = "getBlocksToDestroy", at = @At("TAIL"))
     private void goml_clearBlocks(CallbackInfoReturnable<List<BlockPos>> cir) {
-        cir.getReturnValue().removeIf((b) -> !ClaimUtils.canExplosionDestroy(this.world, b, this.getCausingEntity()));
+        var timer = ProtectionMetrics.start(ProtectionMetrics.Site.EXPLOSION);
+        var blocks = cir.getReturnValue();
+        var size = blocks.size();
+        ClaimUtils.removeProtectedFromExplosion(this.world, blocks, b -> b, this.getCausingEntity());
+        ProtectionMetrics.end(ProtectionMetrics.Site.EXPLOSION, timer, blocks.size() == size);
     }
 
     @ModifyVariable(method = "damageEntities", at = @At("STORE"), ordinal = 0)
     private List<Entity> goml_clearEntities(List<Entity> x) {
-        x.removeIf((e) -> !ClaimUtils.canExplosionDestroy(this.world, e.getBlockPos(), this.getCausingEntity()));
+        var timer = ProtectionMetrics.start(ProtectionMetrics.Site.EXPLOSION);
+        var size = x.size();
+        ClaimUtils.removeProtectedFromExplosion(this.world, x, Entity::getBlockPos, this.getCausingEntity());
+        ProtectionMetrics.end(ProtectionMetrics.Site.EXPLOSION, timer, x.size() == size);
         return x;
     }
 }
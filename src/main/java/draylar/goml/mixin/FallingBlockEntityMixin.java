@@ -3,6 +3,7 @@ package draylar.goml.mixin;
 import com.llamalad7.mixinextras.injector.ModifyExpressionValue;
 import com.llamalad7.mixinextras.sugar.Local;
 import draylar.goml.api.ClaimUtils;
+import draylar.goml.other.ProtectionMetrics;
 import draylar.goml.other.OriginOwner;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityType;
@@ -31,7 +32,8 @@ public abstract class FallingBlockEntityMixin extends Entity implements OriginOw
             return bool;
         }
         if (bool) {
-            return ClaimUtils.hasMatchingClaims(this.getEntityWorld(), pos, this.goml$getOriginSafe());
+            var timer = ProtectionMetrics.start(ProtectionMetrics.Site.FALLING_BLOCK);
+            return ProtectionMetrics.end(ProtectionMetrics.Site.FALLING_BLOCK, timer, ClaimUtils.hasMatchingClaims(this.getEntityWorld(), pos, this));
         }
 
         return false;
@@ -42,7 +44,8 @@ public abstract class FallingBlockEntityMixin extends Entity implements OriginOw
         if (this.getEntityWorld().isClient()) {
             return;
         }
-        if (!ClaimUtils.hasMatchingClaims(this.getEntityWorld(), this.getBlockPos(), this.goml$getOriginSafe())) {
+        var timer = ProtectionMetrics.start(ProtectionMetrics.Site.FALLING_BLOCK);
+        if (!ProtectionMetrics.end(ProtectionMetrics.Site.FALLING_BLOCK, timer, ClaimUtils.hasMatchingClaims(this.getEntityWorld(), this.getBlockPos(), this))) {
             cir.setReturnValue(false);
         }
     }
@@ -1,6 +1,7 @@
 package draylar.goml.mixin;
 
 import draylar.goml.api.ClaimUtils;
+import draylar.goml.other.ProtectionMetrics;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.FarmlandBlock;
@@ -24,7 +25,8 @@ public abstract class FarmlandBlockMixin extends Block {
         if (world.isClient()) {
             return;
         }
-        if (!ClaimUtils.canModify(world, pos, entity instanceof PlayerEntity player ? player : null)) {
+        var timer = ProtectionMetrics.start(ProtectionMetrics.Site.FARMLAND);
+        if (!ProtectionMetrics.end(ProtectionMetrics.Site.FARMLAND, timer, ClaimUtils.canModify(world, pos, entity instanceof PlayerEntity player ? player : null))) {
             ci.cancel();
         }
     }
@@ -1,6 +1,7 @@
 package draylar.goml.mixin;
 
 import draylar.goml.api.ClaimUtils;
+import draylar.goml.other.ProtectionMetrics;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.FireBlock;
 import net.minecraft.server.world.ServerWorld;
@@ -19,14 +20,16 @@ public class FireBlockMixin {
         if (world.isClient()) {
             return;
         }
-        if (!ClaimUtils.canFireDestroy(world, pos)) {
+        var timer = ProtectionMetrics.start(ProtectionMetrics.Site.FIRE);
+        if (!ProtectionMetrics.end(ProtectionMetrics.Site.FIRE, timer, ClaimUtils.canFireDestroy(world, pos))) {
             ci.cancel();
         }
     }
 
     @Inject(method = "scheduledTick", at = @At(value = "INVOKE", target = "Lnet/minecraft/server/world/ServerWorld;scheduleBlockTick(Lnet/minecraft/util/math/BlockPos;Lnet/minecraft/block/Block;I)V", shift = At.Shift.AFTER), cancellable = true)
     private void goml_preventFire2(BlockState state, ServerWorld world, BlockPos pos, Random random, CallbackInfo ci) {
-        if (!ClaimUtils.canFireDestroy(world, pos)) {
+        var timer = ProtectionMetrics.start(ProtectionMetrics.Site.FIRE);
+        if (!ProtectionMetrics.end(ProtectionMetrics.Site.FIRE, timer, ClaimUtils.canFireDestroy(world, pos))) {
             ci.cancel();
         }
     }
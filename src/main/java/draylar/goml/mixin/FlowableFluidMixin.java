@@ -1,6 +1,7 @@
 package draylar.goml.mixin;
 
 import draylar.goml.api.ClaimUtils;
+import draylar.goml.other.ProtectionMetrics;
 import net.minecraft.block.BlockState;
 import net.minecraft.fluid.FlowableFluid;
 import net.minecraft.fluid.Fluid;
@@ -24,7 +25,9 @@ public class FlowableFluidMixin {
             return;
         }
 
-        if (!ClaimUtils.canFluidFlow(world, pos.offset(direction, -1), pos)) {
+        var timer = ProtectionMetrics.start(ProtectionMetrics.Site.FLUID_FLOW);
+        var allowed = ClaimUtils.canFluidFlow(world, pos.getX() - direction.getOffsetX(), pos.getY() - direction.getOffsetY(), pos.getZ() - direction.getOffsetZ(), pos.getX(), pos.getY(), pos.getZ());
+        if (!ProtectionMetrics.end(ProtectionMetrics.Site.FLUID_FLOW, timer, allowed)) {
             ci.cancel();
         }
     }
@@ -1,7 +1,10 @@
 package draylar.goml.mixin;
 
+import com.jamieswhiteshirt.rtree3i.Box;
 import com.llamalad7.mixinextras.injector.ModifyReturnValue;
+import draylar.goml.api.ClaimList;
 import draylar.goml.api.ClaimUtils;
+import draylar.goml.other.ProtectionMetrics;
 import net.minecraft.block.piston.PistonHandler;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
@@ -34,13 +37,14 @@ public class PistonHandlerMixin {
         if (world.isClient()) {
             return;
         }
-        var claims = ClaimUtils.getClaimsAt(world, pos);
-        this.claimsEmpty = claims.isEmpty();
         this.trusted = new HashSet<>();
-        claims.forEach(x -> {
-            this.trusted.addAll(x.getValue().getOwners());
-            this.trusted.addAll(x.getValue().getTrusted());
-        });
+        try (var claims = ClaimUtils.getClaimsAt(world, pos.getX(), pos.getY(), pos.getZ())) {
+            this.claimsEmpty = claims.isEmpty();
+            for (var claim : claims) {
+                this.trusted.addAll(claim.getOwners());
+                this.trusted.addAll(claim.getTrusted());
+            }
+        }
     }
 
     @ModifyReturnValue(method = "calculatePush", at = @At("RETURN"))
@@ -49,7 +53,8 @@ public class PistonHandlerMixin {
             return value;
         }
         if (value) {
-            if (!checkClaims(this.movedBlocks) || !checkClaims(this.brokenBlocks)) {
+            var timer = ProtectionMetrics.start(ProtectionMetrics.Site.PISTON);
+            if (!ProtectionMetrics.end(ProtectionMetrics.Site.PISTON, timer, checkClaims())) {
                 this.movedBlocks.clear();
                 this.brokenBlocks.clear();
                 return false;
@@ -60,31 +65,73 @@ public class PistonHandlerMixin {
         return false;
     }
 
+    /**
+     * Checks all moved and broken blocks, both at their current and target position.
+     * Claims around them are fetched once and permission is resolved once per claim, so each block is only tested against their boxes.
+     */
     @Unique
-    private boolean checkClaims(List<BlockPos> blocks) {
-        for (var pos : blocks) {
-            var claims = ClaimUtils.getClaimsAt(this.world, pos);
-
-            boolean firstFound = true;
+    private boolean checkClaims() {
+        if (this.movedBlocks.isEmpty() && this.brokenBlocks.isEmpty()) {
+            return true;
+        }
 
-            if (claims.isEmpty() && this.claimsEmpty) {
-                firstFound = false;
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for (var list : List.of(this.movedBlocks, this.brokenBlocks)) {
+            for (var pos : list) {
+                minX = Math.min(minX, pos.getX());
+                minY = Math.min(minY, pos.getY());
+                minZ = Math.min(minZ, pos.getZ());
+                maxX = Math.max(maxX, pos.getX());
+                maxY = Math.max(maxY, pos.getY());
+                maxZ = Math.max(maxZ, pos.getZ());
             }
+        }
 
-            if (firstFound && claims.noneMatch(x -> x.getValue().hasPermission(this.trusted))) {
-                return false;
+        // Union with target positions
+        var offsetX = this.motionDirection.getOffsetX();
+        var offsetY = this.motionDirection.getOffsetY();
+        var offsetZ = this.motionDirection.getOffsetZ();
+        var box = Box.create(
+                Math.min(minX, minX + offsetX), Math.min(minY, minY + offsetY), Math.min(minZ, minZ + offsetZ),
+                Math.max(maxX, maxX + offsetX) + 1, Math.max(maxY, maxY + offsetY) + 1, Math.max(maxZ, maxZ + offsetZ) + 1
+        );
+
+        try (var claims = ClaimList.acquire()) {
+            ClaimUtils.getClaimsInBox(this.world, box).forEach(entry -> claims.add(entry.getValue()));
+            if (claims.isEmpty()) {
+                return this.claimsEmpty;
             }
 
-            var mut = new BlockPos.Mutable();
-            claims = ClaimUtils.getClaimsAt(this.world, mut.set(pos).move(this.motionDirection));
-            if (claims.isEmpty() && this.claimsEmpty) {
-                continue;
+            var permitted = new boolean[claims.size()];
+            for (int i = 0; i < permitted.length; i++) {
+                permitted[i] = claims.get(i).hasPermission(this.trusted);
             }
 
-            if (claims.noneMatch(x -> x.getValue().hasPermission(this.trusted))) {
-                return false;
+            for (var list : List.of(this.movedBlocks, this.brokenBlocks)) {
+                for (var pos : list) {
+                    if (!canMoveAt(claims, permitted, pos.getX(), pos.getY(), pos.getZ())
+                            || !canMoveAt(claims, permitted, pos.getX() + offsetX, pos.getY() + offsetY, pos.getZ() + offsetZ)) {
+                        return false;
+                    }
+                }
             }
         }
         return true;
     }
+
+    @Unique
+    private boolean canMoveAt(ClaimList claims, boolean[] permitted, int x, int y, int z) {
+        var found = false;
+        for (int i = 0; i < permitted.length; i++) {
+            var box = claims.get(i).getClaimBox().toBox();
+            if (x >= box.x1() && x < box.x2() && y >= box.y1() && y < box.y2() && z >= box.z1() && z < box.z2()) {
+                if (permitted[i]) {
+                    return true;
+                }
+                found = true;
+            }
+        }
+        return !found && this.claimsEmpty;
+    }
 }
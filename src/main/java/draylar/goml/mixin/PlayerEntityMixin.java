@@ -2,6 +2,7 @@ package draylar.goml.mixin;
 
 import com.llamalad7.mixinextras.injector.ModifyExpressionValue;
 import draylar.goml.api.ClaimUtils;
+import draylar.goml.other.ProtectionMetrics;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.LivingEntity;
@@ -20,7 +21,10 @@ public abstract class PlayerEntityMixin extends LivingEntity {
 
     @ModifyExpressionValue(method = "attack", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/World;getNonSpectatingEntities(Ljava/lang/Class;Lnet/minecraft/util/math/Box;)Ljava/util/List;"))
     private List<Entity> filterEntities(List<Entity> original) {
-        original.removeIf(x -> !ClaimUtils.canDamageEntity(this.getEntityWorld(), x, this, null));
+        var timer = ProtectionMetrics.start(ProtectionMetrics.Site.SWEEP_ATTACK);
+        var size = original.size();
+        ClaimUtils.removeProtectedFromDamage(this.getEntityWorld(), original, this, null);
+        ProtectionMetrics.end(ProtectionMetrics.Site.SWEEP_ATTACK, timer, original.size() == size);
         return original;
     }
 }
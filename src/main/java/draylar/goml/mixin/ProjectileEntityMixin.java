@@ -3,6 +3,7 @@ package draylar.goml.mixin;
 import com.llamalad7.mixinextras.injector.ModifyExpressionValue;
 import com.llamalad7.mixinextras.sugar.Local;
 import draylar.goml.api.ClaimUtils;
+import draylar.goml.other.ProtectionMetrics;
 import draylar.goml.other.OriginOwner;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityType;
@@ -37,14 +38,16 @@ public abstract class ProjectileEntityMixin extends Entity implements OriginOwne
         if (this.getEntityWorld().isClient()) {
             return;
         }
-        if (!ClaimUtils.hasMatchingClaims(this.getEntityWorld(), this.getBlockPos(), this.goml$getOriginSafe(), this.owner != null ? this.owner.getUuid() : null)) {
+        var timer = ProtectionMetrics.start(ProtectionMetrics.Site.PROJECTILE);
+        if (!ProtectionMetrics.end(ProtectionMetrics.Site.PROJECTILE, timer, ClaimUtils.hasMatchingClaims(this.getEntityWorld(), this.getBlockPos(), this, this.owner != null ? this.owner.getUuid() : null))) {
             ci.cancel();
         }
     }
 
     @Inject(method = "canModifyAt", at = @At("HEAD"), cancellable = true)
     private void preventModification(ServerWorld world, BlockPos pos, CallbackInfoReturnable<Boolean> cir) {
-        if (!ClaimUtils.hasMatchingClaims(this.getEntityWorld(), this.getBlockPos(), this.goml$getOriginSafe(), this.owner != null ? this.owner.getUuid() : null)) {
+        var timer = ProtectionMetrics.start(ProtectionMetrics.Site.PROJECTILE);
+        if (!ProtectionMetrics.end(ProtectionMetrics.Site.PROJECTILE, timer, ClaimUtils.hasMatchingClaims(this.getEntityWorld(), this.getBlockPos(), this, this.owner != null ? this.owner.getUuid() : null))) {
             cir.setReturnValue(false);
         }
     }
@@ -1,19 +1,36 @@
 package draylar.goml.mixin;
 
+import draylar.goml.GetOffMyLawn;
+import draylar.goml.api.Claim;
+import draylar.goml.api.ClaimUtils;
 import draylar.goml.other.GomlPlayer;
 import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
+import java.util.List;
+
 @Mixin(ServerPlayerEntity.class)
 public class ServerPlayerEntityMixin implements GomlPlayer {
 
     @Unique
     private boolean goml_adminMode = false;
 
+    @Unique
+    private List<Claim> goml_currentClaims = List.of();
+    @Unique
+    @Nullable
+    private World goml_currentClaimsWorld;
+    @Unique
+    private long goml_currentClaimsPos;
+    @Unique
+    private long goml_currentClaimsEpoch;
+
     @Inject(method = "copyFrom", at = @At("HEAD"))
     private void goml_copyAdminMode(ServerPlayerEntity oldPlayer, boolean alive, CallbackInfo ci) {
         this.goml_adminMode = ((GomlPlayer) oldPlayer).goml_getAdminMode();
@@ -28,4 +45,24 @@ public class ServerPlayerEntityMixin implements GomlPlayer {
     public boolean goml_getAdminMode() {
         return this.goml_adminMode;
     }
+
+    @Override
+    public List<Claim> goml_getCurrentClaims() {
+        var player = (ServerPlayerEntity) (Object) this;
+        var world = player.getEntityWorld();
+        var pos = player.getBlockPos();
+        var epoch = GetOffMyLawn.CLAIM.get(world).getEpoch();
+
+        // Only look claims up again once player moves to another block or claims in the world change
+        if (world != this.goml_currentClaimsWorld || pos.asLong() != this.goml_currentClaimsPos || epoch != this.goml_currentClaimsEpoch) {
+            try (var claims = ClaimUtils.getClaimsAt(world, pos.getX(), pos.getY(), pos.getZ())) {
+                this.goml_currentClaims = List.copyOf(claims);
+            }
+            this.goml_currentClaimsWorld = world;
+            this.goml_currentClaimsPos = pos.asLong();
+            this.goml_currentClaimsEpoch = epoch;
+        }
+
+        return this.goml_currentClaims;
+    }
 }
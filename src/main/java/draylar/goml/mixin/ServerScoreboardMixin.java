@@ -3,15 +3,35 @@ package draylar.goml.mixin;
 import draylar.goml.other.VanillaTeamGroups;
 import net.minecraft.scoreboard.ServerScoreboard;
 import net.minecraft.scoreboard.Team;
+import net.minecraft.server.MinecraftServer;
+import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 @Mixin(ServerScoreboard.class)
 public class ServerScoreboardMixin {
+    @Shadow
+    @Final
+    private MinecraftServer server;
+
     @Inject(method = "updateRemovedTeam", at = @At("TAIL"))
     private void goml$removeTeamFromClaims(Team team, CallbackInfo ci) {
         VanillaTeamGroups.onRemove(team);
     }
+
+    @Inject(method = "addScoreHolderToTeam", at = @At("RETURN"))
+    private void goml$onTeamJoined(String scoreHolderName, Team team, CallbackInfoReturnable<Boolean> cir) {
+        if (cir.getReturnValue()) {
+            VanillaTeamGroups.onJoin(this.server, scoreHolderName, team);
+        }
+    }
+
+    @Inject(method = "removeScoreHolderFromTeam", at = @At("TAIL"))
+    private void goml$onTeamLeft(String scoreHolderName, Team team, CallbackInfo ci) {
+        VanillaTeamGroups.onLeave(this.server, scoreHolderName, team);
+    }
 }
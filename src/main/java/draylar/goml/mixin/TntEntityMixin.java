@@ -1,9 +1,5 @@
 package draylar.goml.mixin;
 
-import com.jamieswhiteshirt.rtree3i.Entry;
-import com.jamieswhiteshirt.rtree3i.Selection;
-import draylar.goml.api.ClaimBox;
-import draylar.goml.api.Claim;
 import draylar.goml.api.ClaimUtils;
 import net.minecraft.entity.*;
 import net.minecraft.entity.player.PlayerEntity;
@@ -33,21 +29,19 @@ public abstract class TntEntityMixin extends Entity {
             return;
         }
         if (this.causingEntity != null) {
-            var claimsFound = ClaimUtils.getClaimsAt(getEntityWorld(), getBlockPos());
-            var entity = LazyEntityReference.getLivingEntity(this.causingEntity, getEntityWorld());
-            if (entity instanceof PlayerEntity player) {
-                if (!claimsFound.isEmpty()) {
-                    boolean noPermission = claimsFound.anyMatch((Entry<ClaimBox, Claim> boxInfo) -> !boxInfo.getValue().hasPermission(player));
+            var pos = getBlockPos();
+            try (var claimsFound = ClaimUtils.getClaimsAt(getEntityWorld(), pos.getX(), pos.getY(), pos.getZ())) {
+                if (claimsFound.isEmpty()) {
+                    return;
+                }
 
-                    if (noPermission) {
+                var entity = LazyEntityReference.getLivingEntity(this.causingEntity, getEntityWorld());
+                if (entity instanceof PlayerEntity player) {
+                    if (claimsFound.anyWithoutPermission(player)) {
                         ci.cancel();
                     }
-                }
-            } else if (entity != null) {
-                if (!claimsFound.isEmpty()) {
-                    boolean noPermission = claimsFound.anyMatch((Entry<ClaimBox, Claim> boxInfo) -> !boxInfo.getValue().hasPermission(this.causingEntity.getUuid()));
-
-                    if (noPermission) {
+                } else if (entity != null) {
+                    if (claimsFound.anyWithoutPermission(this.causingEntity.getUuid())) {
                         ci.cancel();
                     }
                 }
@@ -44,9 +44,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import static net.minecraft.server.command.CommandManager.argument;
 import static net.minecraft.server.command.CommandManager.literal;
@@ -135,6 +135,14 @@ public class ClaimCommand {
                                     .requires(Permissions.require("goml.command.command.admin.reload", 4))
                                     .executes(ClaimCommand::reload)
                             )
+                            .then(literal("perf")
+                                    .requires(Permissions.require("goml.command.command.admin.perf", 3))
+                                    .executes(ClaimCommand::perf)
+                                    .then(literal("enable").executes(context -> setPerfEnabled(context, true)))
+                                    .then(literal("disable").executes(context -> setPerfEnabled(context, false)))
+                                    .then(literal("reset").executes(ClaimCommand::perfReset))
+                                    .then(literal("dump").executes(ClaimCommand::perfDump))
+                            )
                             .then(literal("list")
                                     .requires(Permissions.require("goml.command.command.list", true))
                                     .then(CommandManager.argument("player", GameProfileArgumentType.gameProfile())
@@ -174,15 +182,15 @@ public class ClaimCommand {
     }
 
     private static int escape(CommandContext<ServerCommandSource> context, ServerPlayerEntity player) {
-        var claims = ClaimUtils.getClaimsAt(player.getEntityWorld(), player.getBlockPos()).filter(x -> !x.getValue().hasPermission(player));
+        var claims = ClaimUtils.getCurrentClaims(player).stream().filter(x -> !x.hasPermission(player)).toList();
 
-        if (claims.isNotEmpty()) {
+        if (!claims.isEmpty()) {
             claims.forEach((claim) -> {
-                if (!claim.getKey().minecraftBox().contains(player.getEntityPos())) {
+                if (!claim.getClaimBox().minecraftBox().contains(player.getEntityPos())) {
                     return;
                 }
 
-                var pair = ClaimUtils.getClosestXZBorder(claim.getValue(), player.getEntityPos(), 1);
+                var pair = ClaimUtils.getClosestXZBorder(claim, player.getEntityPos(), 1);
 
                 var pos = pair.getLeft();
                 var dir = pair.getRight();
@@ -244,8 +252,7 @@ public class ClaimCommand {
         bumpChat(player);
 
         server.getWorlds().forEach(world -> {
-            var worldClaims = GetOffMyLawn.CLAIM.get(world).getClaims();
-            int numberOfClaimsWorld = worldClaims.size();
+            int numberOfClaimsWorld = GetOffMyLawn.CLAIM.get(world).getClaimCount();
             numberOfClaimsTotal.addAndGet(1);
 
             player.sendMessage(prefix(Text.translatable("text.goml.command.number_in", world.getRegistryKey().getValue(), numberOfClaimsWorld)), false);
@@ -339,8 +346,7 @@ public class ClaimCommand {
         ServerWorld world = context.getSource().getWorld();
         ServerPlayerEntity player = context.getSource().getPlayer();
 
-        var worldClaims = GetOffMyLawn.CLAIM.get(world).getClaims();
-        int numberOfClaims = worldClaims.size();
+        int numberOfClaims = GetOffMyLawn.CLAIM.get(world).getClaimCount();
 
         player.sendMessage(prefix(Text.translatable("text.goml.command.number_in", world.getRegistryKey().getValue(), numberOfClaims)), false);
 
@@ -417,14 +423,14 @@ public class ClaimCommand {
     private static int openGui(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
         var player = context.getSource().getPlayer();
 
-        var claim = ClaimUtils.getClaimsAt(player.getEntityWorld(), player.getBlockPos());
+        var claim = ClaimUtils.getCurrentClaims(player);
 
         if (claim.isEmpty()) {
             player.sendMessage(prefix(Text.translatable("text.goml.command.no_claims").formatted(Formatting.RED)), false);
             return 0;
         }
 
-        claim.collect(Collectors.toList()).get(0).getValue().openUi(player);
+        claim.getFirst().openUi(player);
 
         return 1;
     }
@@ -474,7 +480,7 @@ public class ClaimCommand {
 
                 if (claimedArea.getValue().isOwner(player)) {
                     if (owner) {
-                        claimedArea.getValue().getOwners().remove(toRemove.id());
+                        claimedArea.getValue().removeOwner(toRemove.id());
                     } else {
                         claimedArea.getValue().untrust(toRemove.id());
                     }
@@ -491,10 +497,65 @@ public class ClaimCommand {
 
     private static int reload(CommandContext<ServerCommandSource> context) {
         GetOffMyLawn.CONFIG = GOMLConfig.loadOrCreateConfig();
+        ProtectionMetrics.setEnabled(GetOffMyLawn.CONFIG.enableProtectionMetrics);
+
+        for (var world : context.getSource().getServer().getWorlds()) {
+            var component = GetOffMyLawn.CLAIM.get(world);
+            var claims = new ArrayList<Claim>();
+            component.getClaims().values().forEach(claims::add);
+            component.rebuild(claims);
+        }
+
         context.getSource().sendFeedback(() -> prefix(Text.literal("Reloaded config")), false);
         return 1;
     }
 
+    private static int perf(CommandContext<ServerCommandSource> context) {
+        var text = Text.literal("Protection checks (" + (ProtectionMetrics.isEnabled() ? "enabled" : "disabled") + "):");
+
+        for (var site : ProtectionMetrics.Site.values()) {
+            if (site.getCalls() == 0) {
+                continue;
+            }
+
+            text.append(Text.literal("\n" + site.id + ": ").formatted(Formatting.YELLOW))
+                    .append(Text.literal(String.format(Locale.ROOT, "%d calls, %d denied, avg %dns, p50 <%dns, p99 <%dns",
+                            site.getCalls(), site.getDenies(), site.getAverageNanos(), site.getPercentileNanos(0.5), site.getPercentileNanos(0.99))).formatted(Formatting.WHITE));
+        }
+
+        context.getSource().sendFeedback(() -> prefix(text), false);
+        return 1;
+    }
+
+    private static int setPerfEnabled(CommandContext<ServerCommandSource> context, boolean enabled) {
+        ProtectionMetrics.setEnabled(enabled);
+        context.getSource().sendFeedback(() -> prefix(Text.literal("Protection metrics " + (enabled ? "enabled" : "disabled"))), false);
+        return 1;
+    }
+
+    private static int perfReset(CommandContext<ServerCommandSource> context) {
+        ProtectionMetrics.reset();
+        context.getSource().sendFeedback(() -> prefix(Text.literal("Protection metrics reset")), false);
+        return 1;
+    }
+
+    private static int perfDump(CommandContext<ServerCommandSource> context) {
+        if (GetOffMyLawn.CONFIG.protectionMetricsFile.isEmpty()) {
+            context.getSource().sendError(prefix(Text.literal("No metrics file set in config (protectionMetricsFile)")));
+            return 0;
+        }
+
+        var source = context.getSource();
+        GetOffMyLawn.dumpProtectionMetrics(source.getServer()).thenAcceptAsync(success -> {
+            if (success) {
+                source.sendFeedback(() -> prefix(Text.literal("Protection metrics written")), false);
+            } else {
+                source.sendError(prefix(Text.literal("Couldn't write protection metrics, see server log")));
+            }
+        }, source.getServer());
+        return 1;
+    }
+
     private static int updateAllClaims(CommandContext<ServerCommandSource> context) {
         ServerWorld world = context.getSource().getWorld();
         ClaimUtils.getClaimsInDimension(world).forEach(claim -> {
@@ -0,0 +1,23 @@
+package draylar.goml.other;
+
+import draylar.goml.cca.ClaimComponent;
+import net.minecraft.util.math.Direction;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Block entities keeping result of their last claim check, implemented on dispensers.
+ */
+public interface ClaimVerdictHolder {
+    @Nullable
+    ClaimVerdict goml$getClaimVerdict();
+    void goml$setClaimVerdict(@Nullable ClaimVerdict verdict);
+
+    /**
+     * Result of a claim check towards given side, valid until claims of the world or their members change.
+     */
+    record ClaimVerdict(ClaimComponent component, long epoch, long permissionVersion, Direction facing, boolean allowed) {
+        public boolean isValid(ClaimComponent component, long permissionVersion, Direction facing) {
+            return this.component == component && this.epoch == component.getEpoch() && this.permissionVersion == permissionVersion && this.facing == facing;
+        }
+    }
+}
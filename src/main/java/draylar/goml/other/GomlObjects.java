@@ -4,7 +4,10 @@ import draylar.goml.api.group.PlayerGroupProvider;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class GomlObjects {
     public static final Map<String, PlayerGroupProvider> PROVIDER_MAP = new HashMap<>();
+    public static final AtomicLong GROUP_MEMBERSHIP_VERSION = new AtomicLong();
+    public static final AtomicLong CLAIM_PERMISSION_VERSION = new AtomicLong();
 }
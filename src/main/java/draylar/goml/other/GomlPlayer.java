@@ -1,9 +1,13 @@
 package draylar.goml.other;
 
+import draylar.goml.api.Claim;
 import org.jetbrains.annotations.ApiStatus;
 
+import java.util.List;
+
 @ApiStatus.Internal
 public interface GomlPlayer {
     void goml_setAdminMode(boolean value);
     boolean goml_getAdminMode();
+    List<Claim> goml_getCurrentClaims();
 }
@@ -1,5 +1,7 @@
 package draylar.goml.other;
 
+import draylar.goml.api.Claim;
+import draylar.goml.cca.ClaimComponent;
 import net.minecraft.util.math.BlockPos;
 import org.jetbrains.annotations.Nullable;
 
@@ -21,4 +23,18 @@ public interface OriginOwner {
     }
 
     void goml$tryFilling();
+
+    @Nullable
+    OriginClaims goml$getOriginClaims();
+    void goml$setOriginClaims(@Nullable OriginClaims claims);
+
+    /**
+     * Claims at origin of an entity, as they were at given epoch of the claim component.
+     * Only claims themselves are kept, so changes to their trust are still seen.
+     */
+    record OriginClaims(ClaimComponent component, long epoch, BlockPos origin, Claim[] claims) {
+        public boolean isValid(ClaimComponent component, BlockPos origin) {
+            return this.component == component && this.epoch == component.getEpoch() && this.origin.equals(origin);
+        }
+    }
 }
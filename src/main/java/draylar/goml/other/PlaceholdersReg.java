@@ -11,7 +11,6 @@ import net.minecraft.util.Identifier;
 import org.jetbrains.annotations.ApiStatus;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @ApiStatus.Internal
 public class PlaceholdersReg {
@@ -26,15 +25,15 @@ public class PlaceholdersReg {
                 wildnessText = TextParserUtils.formatText(arg);
             }
 
-            var claims = ClaimUtils.getClaimsAt(ctx.player().getEntityWorld(), ctx.player().getBlockPos()).collect(Collectors.toList());
+            var claims = ClaimUtils.getCurrentClaims(ctx.player());
 
             if (claims.size() == 0) {
                 return PlaceholderResult.value(wildnessText);
             } else {
-                var claim = claims.get(0);
+                var claim = claims.getFirst();
 
                 List<String> owners = new ArrayList<>();
-                for (UUID owner : claim.getValue().getOwners()) {
+                for (UUID owner : claim.getOwners()) {
                     var profile = ctx.server().getApiServices().nameToIdCache().getByUuid(owner);
 
                     if (profile.isPresent()) {
@@ -57,15 +56,15 @@ public class PlaceholdersReg {
                 wildnessText = TextParserUtils.formatText(arg);
             }
 
-            var claims = ClaimUtils.getClaimsAt(ctx.player().getEntityWorld(), ctx.player().getBlockPos()).collect(Collectors.toList());
+            var claims = ClaimUtils.getCurrentClaims(ctx.player());
 
             if (claims.size() == 0) {
                 return PlaceholderResult.value(wildnessText);
             } else {
-                var claim = claims.get(0);
+                var claim = claims.getFirst();
 
                 List<String> owners = new ArrayList<>();
-                for (UUID owner : claim.getValue().getOwners()) {
+                for (UUID owner : claim.getOwners()) {
                     var profile = ctx.server().getApiServices().nameToIdCache().getByUuid(owner);
 
                     if (profile.isPresent()) {
@@ -89,15 +88,15 @@ public class PlaceholdersReg {
                 wildnessText = TextParserUtils.formatText(arg);
             }
 
-            var claims = ClaimUtils.getClaimsAt(ctx.player().getEntityWorld(), ctx.player().getBlockPos()).collect(Collectors.toList());
+            var claims = ClaimUtils.getCurrentClaims(ctx.player());
 
             if (claims.size() == 0) {
                 return PlaceholderResult.value(wildnessText);
             } else {
-                var claim = claims.get(0);
+                var claim = claims.getFirst();
 
                 List<String> trusted = new ArrayList<>();
-                for (UUID owner : claim.getValue().getTrusted()) {
+                for (UUID owner : claim.getTrusted()) {
                     var profile = ctx.server().getApiServices().nameToIdCache().getByUuid(owner);
 
                     if (profile.isPresent()) {
@@ -121,15 +120,15 @@ public class PlaceholdersReg {
                 wildnessText = TextParserUtils.formatText(arg);
             }
 
-            var claims = ClaimUtils.getClaimsAt(ctx.player().getEntityWorld(), ctx.player().getBlockPos()).collect(Collectors.toList());
+            var claims = ClaimUtils.getCurrentClaims(ctx.player());
 
             if (claims.size() == 0) {
                 return PlaceholderResult.value(wildnessText);
             } else {
-                var claim = claims.get(0);
+                var claim = claims.getFirst();
 
                 List<String> trusted = new ArrayList<>();
-                for (UUID owner : claim.getValue().getTrusted()) {
+                for (UUID owner : claim.getTrusted()) {
                     var profile = ctx.server().getApiServices().nameToIdCache().getByUuid(owner);
 
                     if (profile.isPresent()) {
@@ -166,18 +165,18 @@ public class PlaceholdersReg {
                 }
             }
 
-            var claims = ClaimUtils.getClaimsAt(ctx.player().getEntityWorld(), ctx.player().getBlockPos()).collect(Collectors.toList());
+            var claims = ClaimUtils.getCurrentClaims(ctx.player());
 
 
             if (claims.size() == 0) {
                 return PlaceholderResult.value(wildnessText);
             } else {
-                var claim = claims.get(0);
+                var claim = claims.getFirst();
 
                 List<String> owners = new ArrayList<>();
                 List<String> ownersUuid = new ArrayList<>();
 
-                for (UUID owner : claim.getValue().getOwners()) {
+                for (UUID owner : claim.getOwners()) {
                     var profile = ctx.server().getApiServices().nameToIdCache().getByUuid(owner);
 
                     if (profile.isPresent()) {
@@ -187,7 +186,7 @@ public class PlaceholdersReg {
                 }
                 List<String> trusted = new ArrayList<>();
                 List<String> trustedUuid = new ArrayList<>();
-                for (UUID owner : claim.getValue().getTrusted()) {
+                for (UUID owner : claim.getTrusted()) {
                     var profile = ctx.server().getApiServices().nameToIdCache().getByUuid(owner);
 
                     if (profile.isPresent()) {
@@ -198,13 +197,13 @@ public class PlaceholdersReg {
 
 
                 return PlaceholderResult.value(Placeholders.parseText(
-                        claim.getValue().hasPermission(ctx.player()) ? canBuildText : cantBuildText,
+                        claim.hasPermission(ctx.player()) ? canBuildText : cantBuildText,
                         Placeholders.PREDEFINED_PLACEHOLDER_PATTERN,
                         Map.of("owners", Text.literal(String.join(", ", owners)),
                                 "owners_uuid", Text.literal(String.join(", ", ownersUuid)),
                                 "trusted", Text.literal(String.join(", ", trusted)),
                                 "trusted_uuid", Text.literal(String.join(", ", trustedUuid)),
-                                "anchor", Text.literal(claim.getValue().getOrigin().toShortString())
+                                "anchor", Text.literal(claim.getOrigin().toShortString())
                         )));
             }
         });
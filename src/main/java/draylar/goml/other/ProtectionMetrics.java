@@ -0,0 +1,203 @@
+package draylar.goml.other;
+
+import net.minecraft.util.ActionResult;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histograms for protection checks, grouped by the place they are called from.
+ *
+ * <p>Everything is disabled by default, in which case {@link #start(Site)} and {@link #end(Site, long, boolean)}
+ * only read a single static field. When enabled, every call and denial is counted, but only every 16th call per site
+ * is timed. Latencies are stored in power of two nanosecond buckets.
+ */
+public final class ProtectionMetrics {
+    private static final int SAMPLE_MASK = 15;
+    private static final int BUCKETS = 32;
+
+    private static volatile boolean enabled;
+
+    private ProtectionMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    public static void reset() {
+        for (var site : Site.values()) {
+            site.reset();
+        }
+    }
+
+    /**
+     * Counts a check done at given site.
+     *
+     * @return start time to pass to {@code end}, or 0 if this call isn't sampled
+     */
+    public static long start(Site site) {
+        if (!enabled) {
+            return 0;
+        }
+        site.calls.increment();
+        return (site.sampleCounter++ & SAMPLE_MASK) == 0 ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the result of a check started with {@link #start(Site)}.
+     *
+     * @return allowed, so it can wrap the check
+     */
+    public static boolean end(Site site, long start, boolean allowed) {
+        if (!enabled) {
+            return allowed;
+        }
+        if (!allowed) {
+            site.denies.increment();
+        }
+        if (start != 0) {
+            site.record(System.nanoTime() - start);
+        }
+        return allowed;
+    }
+
+    public static ActionResult endAction(Site site, long start, ActionResult result) {
+        end(site, start, result != ActionResult.FAIL);
+        return result;
+    }
+
+    /**
+     * Writes all metrics in Prometheus text exposition format. File is replaced atomically, so it can be scraped at any time.
+     */
+    public static void writePrometheus(Path path) throws IOException {
+        var builder = new StringBuilder();
+        builder.append("# HELP goml_protection_checks_total Protection checks done, by call site.\n");
+        builder.append("# TYPE goml_protection_checks_total counter\n");
+        for (var site : Site.values()) {
+            builder.append("goml_protection_checks_total{site=\"").append(site.id).append("\"} ").append(site.calls.sum()).append('\n');
+        }
+
+        builder.append("# HELP goml_protection_denies_total Protection checks that denied the action, by call site.\n");
+        builder.append("# TYPE goml_protection_denies_total counter\n");
+        for (var site : Site.values()) {
+            builder.append("goml_protection_denies_total{site=\"").append(site.id).append("\"} ").append(site.denies.sum()).append('\n');
+        }
+
+        builder.append("# HELP goml_protection_check_duration_nanoseconds Sampled duration of protection checks, by call site.\n");
+        builder.append("# TYPE goml_protection_check_duration_nanoseconds histogram\n");
+        for (var site : Site.values()) {
+            long cumulative = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                cumulative += site.histogram.get(i);
+                builder.append("goml_protection_check_duration_nanoseconds_bucket{site=\"").append(site.id).append("\",le=\"").append(1L << i).append("\"} ").append(cumulative).append('\n');
+            }
+            builder.append("goml_protection_check_duration_nanoseconds_bucket{site=\"").append(site.id).append("\",le=\"+Inf\"} ").append(cumulative).append('\n');
+            builder.append("goml_protection_check_duration_nanoseconds_sum{site=\"").append(site.id).append("\"} ").append(site.sampledNanos.sum()).append('\n');
+            builder.append("goml_protection_check_duration_nanoseconds_count{site=\"").append(site.id).append("\"} ").append(cumulative).append('\n');
+        }
+
+        var temp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.writeString(temp, builder, StandardCharsets.UTF_8);
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public enum Site {
+        INTERACT_BLOCK,
+        ATTACK_BLOCK,
+        BREAK_BLOCK,
+        INTERACT_ENTITY,
+        ATTACK_ENTITY,
+        PLACE_BLOCK,
+        BUCKET,
+        ENTITY_DAMAGE,
+        SWEEP_ATTACK,
+        EXPLOSION,
+        FIRE,
+        FLUID_FLOW,
+        DISPENSER,
+        PISTON,
+        FALLING_BLOCK,
+        PROJECTILE,
+        FARMLAND;
+
+        public final String id = this.name().toLowerCase(Locale.ROOT);
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder denies = new LongAdder();
+        private final LongAdder sampledNanos = new LongAdder();
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+        /**
+         * Not synchronized, as it only decides which calls are sampled.
+         */
+        private int sampleCounter;
+
+        public long getCalls() {
+            return this.calls.sum();
+        }
+
+        public long getDenies() {
+            return this.denies.sum();
+        }
+
+        public long getSampleCount() {
+            long count = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                count += this.histogram.get(i);
+            }
+            return count;
+        }
+
+        /**
+         * @return average sampled duration in nanoseconds, or 0 if nothing was sampled
+         */
+        public long getAverageNanos() {
+            var count = this.getSampleCount();
+            return count == 0 ? 0 : this.sampledNanos.sum() / count;
+        }
+
+        /**
+         * @return upper bound of the bucket containing given percentile of sampled durations, in nanoseconds
+         */
+        public long getPercentileNanos(double percentile) {
+            var count = this.getSampleCount();
+            if (count == 0) {
+                return 0;
+            }
+
+            var target = (long) Math.ceil(count * percentile);
+            long cumulative = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                cumulative += this.histogram.get(i);
+                if (cumulative >= target) {
+                    return 1L << i;
+                }
+            }
+            return 1L << (BUCKETS - 1);
+        }
+
+        private void record(long nanos) {
+            var bucket = Math.min(64 - Long.numberOfLeadingZeros(Math.max(nanos, 1) - 1), BUCKETS - 1);
+            this.histogram.incrementAndGet(bucket);
+            this.sampledNanos.add(nanos);
+        }
+
+        private void reset() {
+            this.calls.reset();
+            this.denies.reset();
+            this.sampledNanos.reset();
+            for (int i = 0; i < BUCKETS; i++) {
+                this.histogram.set(i, 0);
+            }
+        }
+    }
+}
@@ -3,6 +3,8 @@ package draylar.goml.other;
 import draylar.goml.api.Claim;
 import draylar.goml.api.group.PlayerGroup;
 import draylar.goml.api.group.PlayerGroupProvider;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.minecraft.component.DataComponentTypes;
 import net.minecraft.component.type.DyedColorComponent;
 import net.minecraft.component.type.TooltipDisplayComponent;
@@ -14,18 +16,110 @@ import net.minecraft.server.MinecraftServer;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
 import net.minecraft.util.NameToIdCache;
-import net.minecraft.util.UserCache;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class VanillaTeamGroups {
+    /**
+     * Team of every player who joined since server start, kept in sync with scoreboard, so membership checks don't need to go
+     * through player names. Other players are looked up in the local user cache on a miss, see {@link #getTeam}.
+     */
+    private static final Map<UUID, Team> TEAM_BY_UUID = new ConcurrentHashMap<>();
+    /**
+     * Uuids of players who joined since server start, so team changes of players who went offline can still be tracked.
+     * Names aren't resolved through the user cache, as looking up names that aren't cached ends up waiting for Mojang's API.
+     */
+    private static final Map<String, UUID> UUID_BY_NAME = new ConcurrentHashMap<>();
+
     public static void init() {
         PlayerGroupProvider.register("minecraft_team", TeamProvider.INSTANCE);
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            TEAM_BY_UUID.clear();
+            UUID_BY_NAME.clear();
+        });
+        // Teams store player names, so whatever name a player joins with can change which team their uuid is part of.
+        // It's also where players get indexed in the first place
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> {
+            UUID_BY_NAME.put(handler.player.getNameForScoreboard(), handler.player.getUuid());
+            var team = handler.player.getScoreboardTeam();
+            if (team != null) {
+                TEAM_BY_UUID.put(handler.player.getUuid(), team);
+            } else {
+                TEAM_BY_UUID.remove(handler.player.getUuid());
+            }
+            onMembersChanged();
+        });
+
+    }
 
+    public static void onMembersChanged() {
+        PlayerGroupProvider.markMembershipChanged();
+    }
+
+    // Players that aren't found aren't indexed, so they keep being resolved through the scoreboard until they join
+    public static void onJoin(MinecraftServer server, String name, Team team) {
+        var uuid = findPlayerUuid(server, name);
+        if (uuid != null) {
+            TEAM_BY_UUID.put(uuid, team);
+        }
+        onMembersChanged();
+    }
+
+    public static void onLeave(MinecraftServer server, String name, Team team) {
+        var uuid = findPlayerUuid(server, name);
+        if (uuid != null) {
+            TEAM_BY_UUID.remove(uuid, team);
+        }
+        onMembersChanged();
+    }
+
+    /**
+     * Returns team of a player, either from the index or, for players who didn't join since server start,
+     * by their name from the local user cache.
+     */
+    @Nullable
+    private static Team getTeam(MinecraftServer server, UUID uuid) {
+        var team = TEAM_BY_UUID.get(uuid);
+        if (team != null) {
+            return team;
+        }
+
+        var profile = server.getApiServices().nameToIdCache().getByUuid(uuid);
+        return profile.isPresent() ? server.getScoreboard().getScoreHolderTeam(profile.get().name()) : null;
+    }
+
+    /**
+     * Finds uuid of a player that is or was online since server start.
+     */
+    @Nullable
+    private static UUID findPlayerUuid(MinecraftServer server, String name) {
+        // Other entities are in teams under their uuid, they can't be a part of player group
+        if (isUuid(name)) {
+            return null;
+        }
+
+        var player = server.getPlayerManager().getPlayer(name);
+        return player != null ? player.getUuid() : UUID_BY_NAME.get(name);
+    }
+
+    private static boolean isUuid(String name) {
+        if (name.length() != 36) {
+            return false;
+        }
+
+        try {
+            UUID.fromString(name);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
     }
 
     public static void onRemove(Team team) {
+        TEAM_BY_UUID.values().removeIf(x -> x == team);
+        PlayerGroupProvider.markMembershipChanged();
         var value = TeamGroup.CACHE.get(team);
         if (value != null) {
             for (var claim : List.copyOf(value.claims)) {
@@ -47,13 +141,9 @@ public class VanillaTeamGroups {
 
         @Override
         public @Nullable PlayerGroup getGroupOf(MinecraftServer server, UUID uuid) {
-            var profile = server.getApiServices().nameToIdCache().getByUuid(uuid);
-
-            if (profile.isPresent()) {
-                var team = server.getScoreboard().getTeam(profile.get().name());
-                if (team  != null) {
-                    return TeamGroup.of(server.getApiServices().nameToIdCache(), team);
-                }
+            var team = getTeam(server, uuid);
+            if (team != null) {
+                return TeamGroup.of(server.getApiServices().nameToIdCache(), team);
             }
             return null;
         }
@@ -72,6 +162,11 @@ public class VanillaTeamGroups {
         public Text getName() {
             return Text.translatable("text.goml.vanilla_team.name");
         }
+
+        @Override
+        public boolean tracksMembershipChanges() {
+            return true;
+        }
     }
 
     private record TeamGroup(NameToIdCache cache, Team team, HashSet<Claim> claims) implements PlayerGroup {
@@ -122,6 +217,11 @@ public class VanillaTeamGroups {
 
         @Override
         public boolean isPartOf(UUID uuid) {
+            var team = TEAM_BY_UUID.get(uuid);
+            if (team != null) {
+                return team == this.team;
+            }
+
             var profile = this.cache.getByUuid(uuid);
             return profile.isPresent() && this.team.getPlayerList().contains(profile.get().name());
         }
@@ -125,7 +125,11 @@ public class ClaimPlayerListGui extends GenericPlayerListGui {
             builder.addLoreLine(Text.translatable("text.goml.gui.click_to_remove"));
             builder.setCallback((x, y, z) -> {
                 playClickSound(player);
-                (isOwner ? this.claim.getOwners() : this.claim.getTrusted()).remove(uuid);
+                if (isOwner) {
+                    this.claim.removeOwner(uuid);
+                } else {
+                    this.claim.untrust(uuid);
+                }
                 this.updateDisplay();
             });
         }
@@ -0,0 +1,188 @@
+package draylar.goml.cca;
+
+import draylar.goml.api.Augment;
+import draylar.goml.api.Claim;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AugmentTickSchedulerTest {
+    private static final BlockPos POS = new BlockPos(1, 2, 3);
+
+    private final AugmentTickScheduler scheduler = new AugmentTickScheduler();
+    private long now;
+
+    private static Claim loadedClaim() {
+        var claim = TestClaims.claim(0, 0, 0, 10, 10);
+        claim.internal_incrementChunks();
+        return claim;
+    }
+
+    private void run(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            this.now++;
+            // Test augments don't use the world
+            this.scheduler.tick(null);
+        }
+    }
+
+    private static List<Long> expectedTicks(int interval, int phase, long from, long to) {
+        var out = new ArrayList<Long>();
+        for (long tick = from; tick <= to; tick++) {
+            if (Math.floorMod(tick - phase, interval) == 0) {
+                out.add(tick);
+            }
+        }
+        return out;
+    }
+
+    @Test
+    void augmentsRunAtTheirIntervalAndPhase() {
+        // Covers intervals shorter than, equal to and longer than the wheel
+        int[] intervals = {1, 3, 20, 127, 128, 200, 300};
+        var augments = new ArrayList<CountingAugment>();
+        var claim = loadedClaim();
+
+        for (int i = 0; i < intervals.length; i++) {
+            var augment = new CountingAugment(intervals[i], 5 + i * 7);
+            augments.add(augment);
+            this.scheduler.schedule(claim, new BlockPos(i, 0, 0), augment);
+        }
+
+        this.run(1000);
+
+        for (var augment : augments) {
+            assertEquals(expectedTicks(augment.interval, augment.phase, 1, 1000), augment.ticks, "interval " + augment.interval);
+        }
+    }
+
+    @Test
+    void schedulingSameAugmentAgainKeepsOneTask() {
+        var claim = loadedClaim();
+        var augment = new CountingAugment(10, 0);
+
+        this.scheduler.schedule(claim, POS, augment);
+        this.run(5);
+        this.scheduler.schedule(claim, POS, augment);
+        this.scheduler.scheduleAll(claim);
+        this.run(95);
+
+        assertEquals(expectedTicks(10, 0, 1, 100), augment.ticks);
+    }
+
+    @Test
+    void replacedAugmentStopsRunning() {
+        var claim = loadedClaim();
+        var first = new CountingAugment(4, 0);
+        var second = new CountingAugment(4, 1);
+
+        this.scheduler.schedule(claim, POS, first);
+        this.run(10);
+        this.scheduler.schedule(claim, POS, second);
+        this.run(10);
+
+        assertEquals(expectedTicks(4, 0, 1, 10), first.ticks);
+        assertEquals(expectedTicks(4, 1, 11, 20), second.ticks);
+    }
+
+    @Test
+    void unscheduledAugmentsStopRunning() {
+        var claim = loadedClaim();
+        var kept = new CountingAugment(3, 0);
+        var removed = new CountingAugment(3, 0);
+        var cleared = new CountingAugment(3, 0);
+        var other = loadedClaim();
+
+        this.scheduler.schedule(claim, POS, kept);
+        this.scheduler.schedule(claim, POS.up(), removed);
+        this.scheduler.schedule(other, POS, cleared);
+        this.run(6);
+
+        this.scheduler.unschedule(claim, POS.up());
+        this.run(6);
+        assertEquals(expectedTicks(3, 0, 1, 6), removed.ticks);
+        assertEquals(expectedTicks(3, 0, 1, 12), kept.ticks);
+
+        this.scheduler.clear();
+        this.run(6);
+        assertEquals(expectedTicks(3, 0, 1, 12), kept.ticks);
+        assertEquals(expectedTicks(3, 0, 1, 12), cleared.ticks);
+    }
+
+    @Test
+    void onlyClaimsWithLoadedChunksAreScheduled() {
+        var claim = TestClaims.claim(0, 0, 0, 10, 10);
+        var augment = new CountingAugment(2, 0);
+        claim.internal_setTickScheduler(this.scheduler);
+        claim.addAugment(POS, augment);
+
+        this.run(10);
+        assertTrue(augment.ticks.isEmpty());
+
+        claim.internal_incrementChunks();
+        claim.internal_incrementChunks();
+        this.run(10);
+        assertEquals(expectedTicks(2, 0, 11, 20), augment.ticks);
+
+        // Claim stays active until its last chunk unloads
+        claim.internal_decrementChunks();
+        this.run(10);
+        assertEquals(expectedTicks(2, 0, 11, 30), augment.ticks);
+
+        claim.internal_decrementChunks();
+        this.run(10);
+        assertEquals(expectedTicks(2, 0, 11, 30), augment.ticks);
+    }
+
+    @Test
+    void nonTickingAugmentsAreIgnored() {
+        var claim = loadedClaim();
+        var augment = new CountingAugment(1, 0) {
+            @Override
+            public boolean ticks() {
+                return false;
+            }
+        };
+
+        this.scheduler.schedule(claim, POS, augment);
+        this.run(10);
+        assertTrue(augment.ticks.isEmpty());
+    }
+
+    private class CountingAugment implements Augment {
+        private final int interval;
+        private final int phase;
+        private final List<Long> ticks = new ArrayList<>();
+
+        private CountingAugment(int interval, int phase) {
+            this.interval = interval;
+            this.phase = phase;
+        }
+
+        @Override
+        public boolean ticks() {
+            return true;
+        }
+
+        @Override
+        public int getTickInterval() {
+            return this.interval;
+        }
+
+        @Override
+        public int getTickPhase(BlockPos pos) {
+            return this.phase;
+        }
+
+        @Override
+        public void tick(Claim claim, World world) {
+            this.ticks.add(AugmentTickSchedulerTest.this.now);
+        }
+    }
+}
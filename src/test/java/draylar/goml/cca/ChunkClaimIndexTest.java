@@ -0,0 +1,206 @@
+package draylar.goml.cca;
+
+import draylar.goml.api.Claim;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChunkClaimIndexTest {
+    private static final int EXTENT = 2048;
+
+    @Test
+    void pointQueriesMatchClaimBoxes() {
+        var random = new Random(1);
+        var claims = TestClaims.randomClaims(random, 500, EXTENT);
+        var index = new ChunkClaimIndex();
+        index.rebuild(claims);
+
+        for (int i = 0; i < 20_000; i++) {
+            var x = random.nextInt(EXTENT + 200) - EXTENT / 2 - 100;
+            var y = random.nextInt(256) - 128;
+            var z = random.nextInt(EXTENT + 200) - EXTENT / 2 - 100;
+
+            var expected = TestClaims.claimsAt(claims, x, y, z);
+            var found = new ArrayList<Claim>();
+            index.getClaimsAt(x, y, z, found);
+
+            assertEquals(Set.copyOf(expected), Set.copyOf(found), "claims at " + x + " " + y + " " + z);
+            assertEquals(expected.size(), found.size(), "duplicated claims at " + x + " " + y + " " + z);
+            assertEquals(!expected.isEmpty(), index.hasClaimAt(x, y, z));
+        }
+    }
+
+    @Test
+    void boxesAreHalfOpen() {
+        var claim = TestClaims.claim(0, 0, 0, 10, 5);
+        var index = new ChunkClaimIndex();
+        index.add(claim);
+
+        var box = claim.getClaimBox().toBox();
+        assertTrue(index.hasClaimAt(box.x1(), box.y1(), box.z1()));
+        assertTrue(index.hasClaimAt(box.x2() - 1, box.y2() - 1, box.z2() - 1));
+        assertFalse(index.hasClaimAt(box.x2(), box.y1(), box.z1()));
+        assertFalse(index.hasClaimAt(box.x1(), box.y2(), box.z1()));
+        assertFalse(index.hasClaimAt(box.x1(), box.y1(), box.z2()));
+        assertFalse(index.hasClaimAt(box.x1() - 1, box.y1(), box.z1()));
+    }
+
+    @Test
+    void rebuildMatchesIncrementalAdds() {
+        var random = new Random(2);
+        var claims = TestClaims.randomClaims(random, 300, EXTENT);
+
+        var rebuilt = new ChunkClaimIndex();
+        rebuilt.rebuild(claims);
+        var added = new ChunkClaimIndex();
+        claims.forEach(added::add);
+
+        for (int i = 0; i < 10_000; i++) {
+            var x = random.nextInt(EXTENT) - EXTENT / 2;
+            var y = random.nextInt(256) - 128;
+            var z = random.nextInt(EXTENT) - EXTENT / 2;
+
+            var fromRebuilt = new HashSet<Claim>();
+            rebuilt.getClaimsAt(x, y, z, fromRebuilt);
+            var fromAdded = new HashSet<Claim>();
+            added.getClaimsAt(x, y, z, fromAdded);
+            assertEquals(fromRebuilt, fromAdded);
+        }
+    }
+
+    @Test
+    void removedClaimsAreNotFound() {
+        var random = new Random(3);
+        var claims = TestClaims.randomClaims(random, 200, EXTENT);
+        var index = new ChunkClaimIndex();
+        index.rebuild(claims);
+
+        var kept = new ArrayList<Claim>();
+        for (int i = 0; i < claims.size(); i++) {
+            if (i % 2 == 0) {
+                index.remove(claims.get(i).getClaimBox());
+            } else {
+                kept.add(claims.get(i));
+            }
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            var x = random.nextInt(EXTENT) - EXTENT / 2;
+            var y = random.nextInt(256) - 128;
+            var z = random.nextInt(EXTENT) - EXTENT / 2;
+
+            var found = new HashSet<Claim>();
+            index.getClaimsAt(x, y, z, found);
+            assertEquals(Set.copyOf(TestClaims.claimsAt(kept, x, y, z)), found);
+        }
+    }
+
+    @Test
+    void claimWithEqualBoxReplacesOldOne() {
+        var first = TestClaims.claim(5, 5, 5, 8, 8);
+        var second = TestClaims.claim(5, 5, 5, 8, 8);
+        var index = new ChunkClaimIndex();
+        index.add(first);
+        index.add(second);
+
+        var found = new ArrayList<Claim>();
+        index.getClaimsAt(5, 5, 5, found);
+        assertEquals(List.of(second), found);
+    }
+
+    @Test
+    void sectionQueriesMatchClaimBoxes() {
+        var random = new Random(4);
+        var claims = TestClaims.randomClaims(random, 300, EXTENT);
+        var index = new ChunkClaimIndex();
+        index.rebuild(claims);
+
+        for (int i = 0; i < 5_000; i++) {
+            var sectionX = (random.nextInt(EXTENT) - EXTENT / 2) >> 4;
+            var sectionY = random.nextInt(16) - 8;
+            var sectionZ = (random.nextInt(EXTENT) - EXTENT / 2) >> 4;
+
+            var intersecting = new HashSet<Claim>();
+            var uniform = true;
+            for (var claim : claims) {
+                var box = claim.getClaimBox().toBox();
+                var intersects = box.x1() < (sectionX << 4) + 16 && box.x2() > sectionX << 4
+                        && box.y1() < (sectionY << 4) + 16 && box.y2() > sectionY << 4
+                        && box.z1() < (sectionZ << 4) + 16 && box.z2() > sectionZ << 4;
+                if (intersects) {
+                    intersecting.add(claim);
+                    uniform &= box.x1() <= sectionX << 4 && box.x2() >= (sectionX << 4) + 16
+                            && box.y1() <= sectionY << 4 && box.y2() >= (sectionY << 4) + 16
+                            && box.z1() <= sectionZ << 4 && box.z2() >= (sectionZ << 4) + 16;
+                }
+            }
+
+            assertEquals(!intersecting.isEmpty(), index.isSectionClaimed(sectionX, sectionY, sectionZ));
+
+            var found = new HashSet<Claim>();
+            assertEquals(uniform, index.getUniformSectionClaims(sectionX, sectionY, sectionZ, found));
+            if (uniform) {
+                assertEquals(intersecting, found);
+            }
+        }
+    }
+
+    @Test
+    void touchingAndChunkQueriesMatchClaimBoxes() {
+        var random = new Random(5);
+        var claims = TestClaims.randomClaims(random, 300, EXTENT);
+        var index = new ChunkClaimIndex();
+        index.rebuild(claims);
+
+        for (int i = 0; i < 2_000; i++) {
+            var minX = random.nextInt(EXTENT) - EXTENT / 2;
+            var minY = random.nextInt(256) - 128;
+            var minZ = random.nextInt(EXTENT) - EXTENT / 2;
+            var maxX = minX + random.nextInt(4);
+            var maxY = minY + random.nextInt(4);
+            var maxZ = minZ + random.nextInt(4);
+
+            var touching = new HashSet<Claim>();
+            for (var claim : claims) {
+                var box = claim.getClaimBox().toBox();
+                if (box.x1() <= maxX && box.x2() >= minX && box.y1() <= maxY && box.y2() >= minY && box.z1() <= maxZ && box.z2() >= minZ) {
+                    touching.add(claim);
+                }
+            }
+
+            var found = new ArrayList<Claim>();
+            index.getClaimsTouching(minX, minY, minZ, maxX, maxY, maxZ, found);
+            // Claims touching the box from a neighbouring chunk aren't in the queried buckets, so only containment is checked there
+            assertTrue(touching.containsAll(found));
+            assertEquals(found.size(), Set.copyOf(found).size());
+            for (var claim : touching) {
+                if (TestClaims.contains(claim, minX, minY, minZ)) {
+                    assertTrue(found.contains(claim));
+                }
+            }
+
+            var chunkX = minX >> 4;
+            var chunkZ = minZ >> 4;
+            var inChunk = new HashSet<Claim>();
+            for (var claim : claims) {
+                var box = claim.getClaimBox().toBox();
+                if (box.x1() < (chunkX << 4) + 16 && box.x2() > chunkX << 4 && box.z1() < (chunkZ << 4) + 16 && box.z2() > chunkZ << 4) {
+                    inChunk.add(claim);
+                }
+            }
+
+            var foundInChunk = new ArrayList<Claim>();
+            index.forEachClaimInChunk(chunkX, chunkZ, foundInChunk::add);
+            assertEquals(inChunk, Set.copyOf(foundInChunk));
+            assertEquals(inChunk.size(), foundInChunk.size());
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package draylar.goml.cca;
+
+import draylar.goml.api.Claim;
+import draylar.goml.api.ClaimBox;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.StringNbtReader;
+import net.minecraft.registry.DynamicRegistryManager;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.storage.NbtReadView;
+import net.minecraft.storage.NbtWriteView;
+import net.minecraft.util.ErrorReporter;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Moving claims saved in version 1 format (checked in as {@code claims_v1.snbt}) into region files and back.
+ */
+class ClaimRegionStorageTest {
+    private static RegistryWrapper.WrapperLookup registries;
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void bootstrap() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+        registries = DynamicRegistryManager.of(Registries.REGISTRIES);
+    }
+
+    private static List<NbtCompound> readFixture() throws Exception {
+        try (var stream = ClaimRegionStorageTest.class.getResourceAsStream("claims_v1.snbt")) {
+            var nbt = StringNbtReader.readCompound(new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+            assertEquals(1, nbt.getInt("Version", 0));
+
+            var claims = new ArrayList<NbtCompound>();
+            for (var element : nbt.getListOrEmpty("Claims")) {
+                claims.add((NbtCompound) element);
+            }
+            return claims;
+        }
+    }
+
+    @Test
+    void migratedClaimsCanBeReadBack() throws Exception {
+        var claims = readFixture();
+        var storage = new ClaimRegionStorage(this.directory);
+        var summaries = storage.migrate(claims, registries);
+
+        var read = new ArrayList<NbtCompound>();
+        for (var entry : Long2ObjectMaps.fastIterable(summaries)) {
+            var region = storage.read(entry.getLongKey());
+            for (var nbt : region) {
+                var origin = BlockPos.fromLong(nbt.getLong(Claim.POSITION_KEY, 0));
+                assertEquals(entry.getLongKey(), DormantClaimRegions.getRegionKey(origin));
+            }
+            assertEquals(region.size(), entry.getValue().boxes().size());
+            read.addAll(region);
+        }
+
+        // Claims at 10, 20 and 511, 511 share their region, the rest has one each
+        assertEquals(5, summaries.size());
+        assertEquals(claims.size(), read.size());
+        assertEquals(Set.copyOf(claims), Set.copyOf(read));
+    }
+
+    @Test
+    void summariesMatchMigratedClaims() throws Exception {
+        var summaries = new ClaimRegionStorage(this.directory).migrate(readFixture(), registries);
+
+        var first = summaries.get(ChunkPos.toLong(0, 0));
+        assertEquals(Set.of(new ClaimBox(new BlockPos(10, 64, 20), 10, 10), new ClaimBox(new BlockPos(511, 64, 511), 75, 75)), Set.copyOf(first.boxes()));
+        assertEquals(Set.of(new UUID(1, 1), new UUID(2, 2)), first.owners());
+        assertEquals(Set.of(new UUID(2, 2)), first.trusted());
+        assertFalse(first.trustsGroups());
+
+        var withGroup = summaries.get(ChunkPos.toLong(0, -1));
+        assertEquals(List.of(new ClaimBox(new BlockPos(300, 70, -40), 25, 25)), withGroup.boxes());
+        assertTrue(withGroup.trustsGroups());
+
+        var negative = summaries.get(ChunkPos.toLong(-1, -1));
+        assertEquals(Set.of(new UUID(1, 1), new UUID(3, 3)), negative.owners());
+    }
+
+    @Test
+    void summariesSurviveSaving() throws Exception {
+        var summaries = new ClaimRegionStorage(this.directory).migrate(readFixture(), registries);
+
+        for (var summary : summaries.values()) {
+            var view = NbtWriteView.create(ErrorReporter.EMPTY, registries);
+            summary.write(view);
+            var read = DormantClaimRegions.Summary.read(NbtReadView.create(ErrorReporter.EMPTY, registries, view.getNbt()));
+            assertEquals(summary, read);
+        }
+    }
+
+    @Test
+    void emptyRegionsHaveNoFile() throws Exception {
+        var storage = new ClaimRegionStorage(this.directory);
+        var region = ChunkPos.toLong(-3, 7);
+        assertEquals(List.of(), storage.read(region));
+
+        var claims = readFixture().subList(0, 2);
+        storage.write(region, claims);
+        assertEquals(claims, storage.read(region));
+
+        storage.write(region, claims.subList(0, 1));
+        assertEquals(claims.subList(0, 1), storage.read(region));
+
+        storage.write(region, List.of());
+        assertEquals(List.of(), storage.read(region));
+        try (var files = Files.list(this.directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package draylar.goml.cca;
+
+import com.jamieswhiteshirt.rtree3i.ConfigurationBuilder;
+import com.jamieswhiteshirt.rtree3i.RTreeMap;
+import draylar.goml.api.Claim;
+import draylar.goml.api.ClaimBox;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClaimSnapshotTest {
+    private static final int EXTENT = 1024;
+
+    private static RTreeMap<ClaimBox, Claim> emptyTree() {
+        return RTreeMap.create(new ConfigurationBuilder().star().build(), ClaimBox::toBox);
+    }
+
+    @Test
+    void pointQueriesMatchChunkIndex() {
+        var random = new Random(1);
+        var claims = TestClaims.randomClaims(random, 300, EXTENT);
+        var tree = emptyTree();
+        for (var claim : claims) {
+            tree = tree.put(claim.getClaimBox(), claim);
+        }
+        var snapshot = new ClaimSnapshot(1, tree);
+        var index = new ChunkClaimIndex();
+        index.rebuild(claims);
+
+        for (int i = 0; i < 10_000; i++) {
+            var x = random.nextInt(EXTENT) - EXTENT / 2;
+            var y = random.nextInt(256) - 128;
+            var z = random.nextInt(EXTENT) - EXTENT / 2;
+
+            var fromSnapshot = new HashSet<Claim>();
+            snapshot.getClaimsAt(x, y, z, fromSnapshot);
+            var fromIndex = new HashSet<Claim>();
+            index.getClaimsAt(x, y, z, fromIndex);
+
+            assertEquals(fromIndex, fromSnapshot);
+            assertEquals(!fromIndex.isEmpty(), snapshot.hasClaimAt(x, y, z));
+        }
+    }
+
+    @Test
+    void olderSnapshotsDontSeeLaterChanges() {
+        var first = TestClaims.claim(0, 0, 0, 10, 10);
+        var second = TestClaims.claim(100, 0, 0, 10, 10);
+
+        var old = new ClaimSnapshot(1, emptyTree().put(first.getClaimBox(), first));
+        var current = new ClaimSnapshot(2, old.claims().put(second.getClaimBox(), second).remove(first.getClaimBox()));
+
+        assertTrue(old.hasClaimAt(0, 0, 0));
+        assertFalse(old.hasClaimAt(100, 0, 0));
+        assertFalse(current.hasClaimAt(0, 0, 0));
+        assertTrue(current.hasClaimAt(100, 0, 0));
+    }
+
+    /**
+     * Readers on other threads only ever see complete snapshots, in which claims match the epoch they were published with.
+     */
+    @Test
+    void readersSeeConsistentSnapshots() throws InterruptedException {
+        var claims = new ArrayList<Claim>();
+        for (int i = 0; i < 2_000; i++) {
+            claims.add(TestClaims.claim(i * 32, 0, 0, 4, 4));
+        }
+
+        var published = new AtomicReference<>(new ClaimSnapshot(0, emptyTree()));
+        var failure = new AtomicReference<Throwable>();
+        var done = new CountDownLatch(1);
+        var readers = new ArrayList<Thread>();
+
+        for (int r = 0; r < 4; r++) {
+            var reader = new Thread(() -> {
+                var random = new Random();
+                try {
+                    while (done.getCount() > 0) {
+                        var snapshot = published.get();
+                        var epoch = (int) snapshot.epoch();
+                        assertEquals(epoch, snapshot.claims().size());
+                        if (epoch > 0) {
+                            // Claims are published in order, so claim at index epoch - 1 has to be there and the next one can't be
+                            var last = claims.get(epoch - 1);
+                            assertEquals(Set.of(last), collect(snapshot, last));
+                            assertTrue(snapshot.hasClaimAt(claims.get(random.nextInt(epoch)).getOrigin().getX(), 0, 0));
+                        }
+                        if (epoch < claims.size()) {
+                            assertFalse(snapshot.hasClaimAt(claims.get(epoch).getOrigin().getX(), 0, 0));
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+
+        var tree = emptyTree();
+        for (int i = 0; i < claims.size(); i++) {
+            tree = tree.put(claims.get(i).getClaimBox(), claims.get(i));
+            published.set(new ClaimSnapshot(i + 1, tree));
+        }
+
+        done.countDown();
+        for (var reader : readers) {
+            reader.join();
+        }
+
+        assertNull(failure.get());
+    }
+
+    private static Set<Claim> collect(ClaimSnapshot snapshot, Claim claim) {
+        var out = new HashSet<Claim>();
+        snapshot.getClaimsAt(claim.getOrigin().getX(), claim.getOrigin().getY(), claim.getOrigin().getZ(), out);
+        return out;
+    }
+}
@@ -0,0 +1,157 @@
+package draylar.goml.cca;
+
+import com.jamieswhiteshirt.rtree3i.Box;
+import draylar.goml.api.Claim;
+import draylar.goml.api.ClaimBox;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.util.math.BlockPos;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DormantClaimRegionsTest {
+    private static final int EXTENT = 4096;
+    private static final UUID[] PLAYERS = {new UUID(1, 1), new UUID(2, 2), new UUID(3, 3), new UUID(4, 4)};
+
+    private static Long2ObjectOpenHashMap<List<Claim>> randomRegions(Random random, int count) {
+        var regions = new Long2ObjectOpenHashMap<List<Claim>>();
+        for (int i = 0; i < count; i++) {
+            var origin = new BlockPos(random.nextInt(EXTENT) - EXTENT / 2, random.nextInt(128) - 64, random.nextInt(EXTENT) - EXTENT / 2);
+            var claim = new Claim(null, Set.of(PLAYERS[random.nextInt(PLAYERS.length)]), Set.of(PLAYERS[random.nextInt(PLAYERS.length)]), origin);
+            claim.internal_setClaimBox(new ClaimBox(origin, 1 + random.nextInt(100), 1 + random.nextInt(64)));
+            regions.computeIfAbsent(DormantClaimRegions.getRegionKey(origin), x -> new ArrayList<>()).add(claim);
+        }
+        return regions;
+    }
+
+    private static DormantClaimRegions dormant(Long2ObjectOpenHashMap<List<Claim>> regions) {
+        var dormant = new DormantClaimRegions();
+        for (var entry : regions.long2ObjectEntrySet()) {
+            dormant.add(entry.getLongKey(), DormantClaimRegions.Summary.of(entry.getValue()));
+        }
+        return dormant;
+    }
+
+    @Test
+    void areaQueriesFindRegionsOfIntersectingClaims() {
+        var random = new Random(1);
+        var regions = randomRegions(random, 500);
+        var dormant = dormant(regions);
+        assertEquals(500, dormant.size());
+
+        for (int i = 0; i < 2_000; i++) {
+            var x = random.nextInt(EXTENT) - EXTENT / 2;
+            var y = random.nextInt(128) - 64;
+            var z = random.nextInt(EXTENT) - EXTENT / 2;
+            var box = Box.create(x, y, z, x + random.nextInt(64), y + random.nextInt(64), z + random.nextInt(64));
+
+            var expected = new LongOpenHashSet();
+            for (var entry : regions.long2ObjectEntrySet()) {
+                for (var claim : entry.getValue()) {
+                    if (claim.getClaimBox().toBox().intersectsClosed(box)) {
+                        expected.add(entry.getLongKey());
+                    }
+                }
+            }
+
+            var found = new LongOpenHashSet();
+            dormant.getRegionsIn(box, found);
+            assertEquals(expected, found);
+        }
+    }
+
+    @Test
+    void memberQueriesFindRegionsOfPlayers() {
+        var regions = randomRegions(new Random(2), 200);
+        var dormant = dormant(regions);
+
+        for (var player : PLAYERS) {
+            var owned = new LongOpenHashSet();
+            var trusted = new LongOpenHashSet();
+            for (var entry : regions.long2ObjectEntrySet()) {
+                for (var claim : entry.getValue()) {
+                    if (claim.getOwners().contains(player)) {
+                        owned.add(entry.getLongKey());
+                    }
+                    if (claim.getTrusted().contains(player)) {
+                        trusted.add(entry.getLongKey());
+                    }
+                }
+            }
+
+            var found = new LongOpenHashSet();
+            dormant.getRegionsOf(player, true, false, false, found);
+            assertEquals(owned, found);
+
+            found.clear();
+            dormant.getRegionsOf(player, false, true, false, found);
+            assertEquals(trusted, found);
+        }
+    }
+
+    @Test
+    void takenRegionsAreForgotten() {
+        var random = new Random(3);
+        var regions = randomRegions(random, 300);
+        var dormant = dormant(regions);
+
+        var kept = new Long2ObjectOpenHashMap<List<Claim>>();
+        var taken = 0;
+        for (var entry : regions.long2ObjectEntrySet()) {
+            if (random.nextBoolean()) {
+                assertEquals(entry.getValue().size(), dormant.take(entry.getLongKey()).boxes().size());
+                assertNull(dormant.take(entry.getLongKey()));
+                assertFalse(dormant.contains(entry.getLongKey()));
+                taken += entry.getValue().size();
+            } else {
+                kept.put(entry.getLongKey(), entry.getValue());
+            }
+        }
+        assertEquals(300 - taken, dormant.size());
+        assertEquals(kept.keySet(), dormant.getRegions());
+
+        var everywhere = new LongOpenHashSet();
+        dormant.getRegionsIn(Box.create(-EXTENT, -512, -EXTENT, EXTENT, 512, EXTENT), everywhere);
+        assertEquals(kept.keySet(), everywhere);
+
+        var ofPlayers = new LongOpenHashSet();
+        for (var player : PLAYERS) {
+            dormant.getRegionsOf(player, true, true, false, ofPlayers);
+        }
+        assertEquals(kept.keySet(), ofPlayers);
+
+        for (var region : kept.keySet()) {
+            dormant.take(region);
+        }
+        assertTrue(dormant.isEmpty());
+        assertEquals(0, dormant.size());
+    }
+
+    @Test
+    void addingRegionAgainReplacesIt() {
+        var dormant = new DormantClaimRegions();
+        var first = TestClaims.claim(10, 0, 10, 5, 5);
+        var second = TestClaims.claim(100, 0, 100, 5, 5);
+        var region = DormantClaimRegions.getRegionKey(first.getOrigin());
+
+        dormant.add(region, DormantClaimRegions.Summary.of(List.of(first)));
+        dormant.add(region, DormantClaimRegions.Summary.of(List.of(second)));
+        assertEquals(1, dormant.size());
+
+        var found = new LongOpenHashSet();
+        dormant.getRegionsIn(Box.create(10, 0, 10, 10, 0, 10), found);
+        assertTrue(found.isEmpty());
+        dormant.getRegionsIn(Box.create(100, 0, 100, 100, 0, 100), found);
+        assertEquals(Set.of(region), found);
+    }
+}
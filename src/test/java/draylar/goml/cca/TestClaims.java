@@ -0,0 +1,68 @@
+package draylar.goml.cca;
+
+import draylar.goml.api.Claim;
+import draylar.goml.api.ClaimBox;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Claims for tests, created without a server or world.
+ */
+final class TestClaims {
+    static final UUID OWNER = new UUID(1, 1);
+
+    private TestClaims() {
+    }
+
+    static Claim claim(int x, int y, int z, int radius, int height) {
+        var origin = new BlockPos(x, y, z);
+        var claim = new Claim(null, Set.of(OWNER), Set.of(), origin);
+        claim.internal_setClaimBox(new ClaimBox(origin, radius, height));
+        return claim;
+    }
+
+    /**
+     * Creates claims scattered over given area, with origins never repeating. Every 50th claim is big enough
+     * to be kept outside of chunk buckets.
+     */
+    static List<Claim> randomClaims(Random random, int count, int extent) {
+        var claims = new ArrayList<Claim>(count);
+        var origins = new HashSet<BlockPos>();
+
+        while (claims.size() < count) {
+            var x = random.nextInt(extent) - extent / 2;
+            var y = random.nextInt(128) - 64;
+            var z = random.nextInt(extent) - extent / 2;
+            if (!origins.add(new BlockPos(x, y, z))) {
+                continue;
+            }
+
+            var radius = claims.size() % 50 == 49 ? 600 + random.nextInt(200) : 1 + random.nextInt(40);
+            claims.add(claim(x, y, z, radius, 1 + random.nextInt(64)));
+        }
+
+        return claims;
+    }
+
+    static boolean contains(Claim claim, int x, int y, int z) {
+        var box = claim.getClaimBox().toBox();
+        return x >= box.x1() && x < box.x2() && y >= box.y1() && y < box.y2() && z >= box.z1() && z < box.z2();
+    }
+
+    static List<Claim> claimsAt(Collection<Claim> claims, int x, int y, int z) {
+        var out = new ArrayList<Claim>();
+        for (var claim : claims) {
+            if (contains(claim, x, y, z)) {
+                out.add(claim);
+            }
+        }
+        return out;
+    }
+}